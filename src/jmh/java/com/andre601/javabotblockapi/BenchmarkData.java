@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates realistic data for the benchmarks. A fixed seed is used, so that every run works with the same data.
+ */
+final class BenchmarkData{
+    static final String BOT_ID = "123456789012345678";
+
+    private BenchmarkData(){}
+
+    static int[] shards(int amount){
+        Random random = new Random(42);
+
+        int[] shards = new int[amount];
+        for(int i = 0; i < amount; i++)
+            shards[i] = 1000 + random.nextInt(1500);
+
+        return shards;
+    }
+
+    static AuthTokens authTokens(int amount){
+        Random random = new Random(42);
+
+        Map<String, String> tokens = new HashMap<>();
+        for(int i = 0; i < amount; i++){
+            StringBuilder token = new StringBuilder("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.");
+            for(int j = 0; j < 96; j++)
+                token.append((char)('a' + random.nextInt(26)));
+
+            tokens.put("botlist" + i + ".org", token.toString());
+        }
+
+        return new BotBlockAPI(tokens).getAuthTokens();
+    }
+
+    /**
+     * Response of the {@code bots/:id} endpoint with the provided amount of sites in {@code list_data}.
+     */
+    static byte[] botResponse(int sites){
+        JSONObject listData = new JSONObject();
+        for(int i = 0; i < sites; i++){
+            JSONObject data = new JSONObject()
+                    .put("id", BOT_ID)
+                    .put("username", "MyBot")
+                    .put("discriminator", "1234")
+                    .put("avatar", "https://cdn.discordapp.com/avatars/" + BOT_ID + "/a_1b2c3d4e5f.png")
+                    .put("short_description", "A bot that does many things, like moderation, music and more.")
+                    .put("prefix", "!")
+                    .put("server_count", 10000 + i)
+                    .put("shard_count", 16)
+                    .put("votes", 1234 + i)
+                    .put("certified", i % 2 == 0)
+                    .put("tags", new JSONArray().put("moderation").put("music").put("fun"));
+
+            listData.put("botlist" + i + ".org", new JSONArray().put(data).put(i % 5 == 0 ? 404 : 200));
+        }
+
+        JSONObject json = new JSONObject()
+                .put("id", BOT_ID)
+                .put("username", "MyBot")
+                .put("discriminator", "1234")
+                .put("owners", new JSONArray().put("234567890123456789"))
+                .put("server_count", 10000)
+                .put("invite", "https://discordapp.com/oauth2/authorize?client_id=" + BOT_ID + "&scope=bot")
+                .put("list_data", listData);
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Response of the {@code lists} endpoint with the provided amount of botlists.
+     */
+    static byte[] listsResponse(int lists){
+        JSONObject json = new JSONObject();
+        for(int i = 0; i < lists; i++){
+            String name = "botlist" + i + ".org";
+            json.put(name, new JSONObject()
+                    .put("api_docs", "https://" + name + "/docs")
+                    .put("api_post", "https://" + name + "/api/v1/bots/:id/stats")
+                    .put("api_field", "server_count")
+                    .put("api_shard_id", i % 2 == 0 ? "shard_id" : JSONObject.NULL)
+                    .put("api_shard_count", i % 2 == 0 ? "shard_count" : JSONObject.NULL)
+                    .put("api_shards", i % 3 == 0 ? "shards" : JSONObject.NULL)
+                    .put("api_get", "https://" + name + "/api/v1/bots/:id"));
+        }
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Response of the {@code count} endpoint where the provided amount of sites out of all sites failed.
+     */
+    static JSONObject countResponse(int sites, int failures){
+        JSONObject success = new JSONObject();
+        JSONObject failure = new JSONObject();
+        for(int i = 0; i < sites; i++){
+            if(i < failures)
+                failure.put("botlist" + i + ".org", new JSONArray().put(401).put("Unauthorized"));
+            else
+                success.put("botlist" + i + ".org", new JSONArray().put(200).put("{\"success\":true}"));
+        }
+
+        JSONObject json = new JSONObject().put("success", success);
+        if(failures > 0)
+            json.put("failure", failure);
+
+        return json;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to parse responses of the {@code bots/:id} and {@code lists} endpoints.
+ * <br>The {@code legacy} benchmarks parse the body from a String, like it was done before the body was streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParseBenchmark{
+    @Param({"5", "30", "100"})
+    public int sites;
+
+    private byte[] botResponse;
+    private byte[] listsResponse;
+
+    @Setup
+    public void setup(){
+        botResponse = BenchmarkData.botResponse(sites);
+        listsResponse = BenchmarkData.listsResponse(sites);
+    }
+
+    @Benchmark
+    public JSONObject parseBot() throws IOException{
+        return ResponseParser.parse(new ByteArrayInputStream(botResponse), ResponseParser.DEFAULT_MAX_SIZE);
+    }
+
+    @Benchmark
+    public JSONObject parseLists() throws IOException{
+        return ResponseParser.parse(new ByteArrayInputStream(listsResponse), ResponseParser.DEFAULT_MAX_SIZE);
+    }
+
+    @Benchmark
+    public JSONObject legacyParseBot(){
+        return new JSONObject(new String(botResponse, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public JSONObject legacyParseLists(){
+        return new JSONObject(new String(listsResponse, StandardCharsets.UTF_8));
+    }
+}
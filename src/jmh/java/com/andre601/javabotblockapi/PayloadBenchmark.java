@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to build the body for the {@code count} endpoint.
+ * <br>{@link #legacyPayload()} builds the body the way it was done before the payload was written directly, which
+ * allows to compare both approaches. Both return the UTF-8 bytes that are sent, like OkHttp would encode them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PayloadBenchmark{
+    @Param({"1", "16", "256", "1024"})
+    public int shards;
+
+    @Param({"1", "8", "32"})
+    public int tokens;
+
+    private int[] counts;
+    private int serverCount;
+    private AuthTokens authTokens;
+
+    @Setup
+    public void setup(){
+        counts = BenchmarkData.shards(shards);
+        serverCount = Arrays.stream(counts).sum();
+        authTokens = BenchmarkData.authTokens(tokens);
+    }
+
+    @Benchmark
+    public byte[] payload(){
+        return CountPayload.ofShards(BenchmarkData.BOT_ID, serverCount, counts, authTokens).toJsonBytes();
+    }
+
+    @Benchmark
+    public byte[] legacyPayload(){
+        JSONObject json = new JSONObject()
+                .put("server_count", serverCount)
+                .put("bot_id", BenchmarkData.BOT_ID)
+                .put("shard_count", counts.length);
+
+        List<Integer> shards = new ArrayList<>();
+        for(int count : counts)
+            shards.add(count);
+
+        json.put("shards", new JSONArray(Arrays.deepToString(shards.toArray())));
+
+        authTokens.asMap().forEach(json::put);
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable sites and tokens of a {@link BotBlockAPI BotBlockAPI}.
+ *
+ * <p>The tokens never change after creation, so they are written as JSON only once. The result is a fragment of
+ * UTF-8 bytes ({@code ,"site":"token",...}) that every post to the {@code count} endpoint copies as-is.
+ */
+final class AuthTokens{
+    static final AuthTokens EMPTY = new AuthTokens(Collections.emptyMap());
+
+    private final Map<String, String> tokens;
+    private final byte[] fragment;
+
+    AuthTokens(Map<String, String> tokens){
+        this.tokens = Collections.unmodifiableMap(new HashMap<>(tokens));
+
+        StringBuilder builder = new StringBuilder(tokens.size() * 64);
+        for(Map.Entry<String, String> token : this.tokens.entrySet())
+            builder.append(',')
+                    .append(JSONObject.quote(token.getKey()))
+                    .append(':')
+                    .append(JSONObject.quote(token.getValue()));
+
+        this.fragment = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    Map<String, String> asMap(){
+        return tokens;
+    }
+
+    boolean isEmpty(){
+        return tokens.isEmpty();
+    }
+
+    /*
+     * Shared with every caller. The array is never modified, but must not be handed out of the package.
+     */
+    byte[] getFragment(){
+        return fragment;
+    }
+}
@@ -20,6 +20,7 @@ package com.andre601.javabotblockapi;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,19 +31,21 @@ import java.util.Map;
 public class BotBlockAPI{
     private static final int DEFAULT_DELAY = 30;
 
-    private Map<String, String> authTokens;
+    private AuthTokens authTokens;
     private int updateInterval;
 
     /**
      * Constructor to set the Map with the sites and tokens.
      * <br>This will also set the update interval to 30 minutes.
      *
+     * <p>The provided Map is copied, so later changes to it won't affect this instance.
+     *
      * @param authTokens
      *        A Map of sites and their tokens. May not be null.
      *        <br>You may receive the API-token from your botlist.
      */
     public BotBlockAPI(@NotNull Map<String, String> authTokens){
-        this.authTokens = authTokens;
+        this.authTokens = new AuthTokens(authTokens);
         this.updateInterval = DEFAULT_DELAY;
     }
 
@@ -59,11 +62,34 @@ public class BotBlockAPI{
         if(updateInterval < 2)
             throw new IllegalArgumentException("Update interval may not be less than 2.");
 
-        this.authTokens = authTokens;
+        this.authTokens = new AuthTokens(authTokens);
         this.updateInterval = updateInterval;
     }
 
-    Map<String, String> getAuthTokens(){
+    /**
+     * Creates a copy of this BotBlockAPI that only contains the tokens of the provided sites.
+     * <br>Useful for posting again to only the sites that failed, as listed in
+     * {@link com.andre601.javabotblockapi.PostResult#getFailedSites() PostResult#getFailedSites()}.
+     *
+     * <p>Sites without a token in this BotBlockAPI are ignored. The update interval stays the same.
+     *
+     * @param  sites
+     *         The names of the sites to keep. May not be null.
+     *
+     * @return A new BotBlockAPI with only the tokens of the provided sites.
+     *
+     * @since v2.0.0
+     */
+    public BotBlockAPI withSites(@NotNull Collection<String> sites){
+        Check.notNull(sites, "Sites may not be null.");
+
+        Map<String, String> tokens = new HashMap<>(authTokens.asMap());
+        tokens.keySet().retainAll(sites);
+
+        return new BotBlockAPI(tokens, updateInterval);
+    }
+
+    AuthTokens getAuthTokens(){
         return authTokens;
     }
 
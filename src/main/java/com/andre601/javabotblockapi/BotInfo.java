@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.*;
+
+/**
+ * Immutable information about a bot, as returned by the {@code bots/:id} endpoint of the BotBlock API.
+ *
+ * <p>The common fields are decoded once into plain Java values. The data of each botlist is kept as a
+ * {@link com.andre601.javabotblockapi.SiteListing SiteListing}, which only decodes it on access. Names of botlists
+ * are interned, so that many cached instances share the same Strings.
+ *
+ * <p>Instances can be obtained through {@link RequestHandler#getBot(String) getBot(String)} and may be cached and
+ * compared freely.
+ *
+ * @since v2.0.0
+ */
+public final class BotInfo{
+    private final String id;
+    private final String username;
+    private final String discriminator;
+    private final List<String> owners;
+    private final int serverCount;
+    private final String invite;
+    private final Map<String, SiteListing> listings;
+    private final String extra;
+
+    private BotInfo(String id, String username, String discriminator, List<String> owners, int serverCount,
+                    String invite, Map<String, SiteListing> listings, String extra){
+        this.id = id;
+        this.username = username;
+        this.discriminator = discriminator;
+        this.owners = owners;
+        this.serverCount = serverCount;
+        this.invite = invite;
+        this.listings = listings;
+        this.extra = extra;
+    }
+
+    /*
+     * Fields are only decoded if they have the expected type. Anything else is kept in the extra JSON, so that
+     * toJson() always returns what BotBlock sent.
+     */
+    static BotInfo of(JSONObject json){
+        JSONObject extra = new JSONObject();
+        String id = null;
+        String username = null;
+        String discriminator = null;
+        List<String> owners = null;
+        int serverCount = -1;
+        String invite = null;
+        Map<String, SiteListing> listings = null;
+
+        for(String key : json.keySet()){
+            Object value = json.get(key);
+            switch(key){
+                case "id":
+                    if(value instanceof String){
+                        id = (String)value;
+                        continue;
+                    }
+                    break;
+
+                case "username":
+                    if(value instanceof String){
+                        username = (String)value;
+                        continue;
+                    }
+                    break;
+
+                case "discriminator":
+                    if(value instanceof String){
+                        discriminator = (String)value;
+                        continue;
+                    }
+                    break;
+
+                case "owners":
+                    if(value instanceof JSONArray && isStringArray((JSONArray)value)){
+                        owners = toList((JSONArray)value);
+                        continue;
+                    }
+                    break;
+
+                case "server_count":
+                    if(value instanceof Integer && (Integer)value >= 0){
+                        serverCount = (Integer)value;
+                        continue;
+                    }
+                    break;
+
+                case "invite":
+                    if(value instanceof String){
+                        invite = (String)value;
+                        continue;
+                    }
+                    break;
+
+                case "list_data":
+                    if(value instanceof JSONObject){
+                        listings = toListings((JSONObject)value);
+                        continue;
+                    }
+                    break;
+            }
+
+            extra.put(key, value);
+        }
+
+        return new BotInfo(id, username, discriminator, owners, serverCount, invite, listings,
+                extra.length() == 0 ? null : extra.toString());
+    }
+
+    /**
+     * Gets the id of the bot.
+     *
+     * @return The id of the bot, or null if BotBlock didn't provide one.
+     */
+    @Nullable
+    public String getId(){
+        return id;
+    }
+
+    /**
+     * Gets the name of the bot.
+     *
+     * @return The name of the bot, or null if BotBlock didn't provide one.
+     */
+    @Nullable
+    public String getUsername(){
+        return username;
+    }
+
+    /**
+     * Gets the discriminator of the bot.
+     *
+     * @return The discriminator of the bot, or null if BotBlock didn't provide one.
+     */
+    @Nullable
+    public String getDiscriminator(){
+        return discriminator;
+    }
+
+    /**
+     * Gets the ids of the owners of the bot.
+     *
+     * @return Unmodifiable List with the ids of the owners.
+     */
+    public List<String> getOwners(){
+        return owners == null ? Collections.emptyList() : owners;
+    }
+
+    /**
+     * Gets the server count of the bot.
+     *
+     * @return The server count, or -1 if BotBlock didn't provide one.
+     */
+    public int getServerCount(){
+        return serverCount;
+    }
+
+    /**
+     * Gets the OAuth invite of the bot.
+     *
+     * @return The invite of the bot, or null if BotBlock didn't provide one.
+     */
+    @Nullable
+    public String getInvite(){
+        return invite;
+    }
+
+    /**
+     * Gets the information a single botlist has about the bot.
+     *
+     * @param  site
+     *         The name of the botlist.
+     *
+     * @return The {@link com.andre601.javabotblockapi.SiteListing SiteListing} of the botlist, or null if BotBlock
+     *         didn't provide any data for it.
+     */
+    @Nullable
+    public SiteListing getListing(@NotNull String site){
+        return listings == null ? null : listings.get(site);
+    }
+
+    /**
+     * Gets the information of all botlists, mapped by the name of the botlist.
+     *
+     * @return Unmodifiable Map of all {@link com.andre601.javabotblockapi.SiteListing SiteListings}.
+     */
+    public Map<String, SiteListing> getListings(){
+        return listings == null ? Collections.emptyMap() : listings;
+    }
+
+    /**
+     * Converts the information back into the format of the BotBlock API.
+     * <br>The returned JSONObject is created on every call, so callers may modify it.
+     *
+     * @return The Bot information as JSONObject, like returned by {@link RequestHandler#getAll(String) getAll(String)}.
+     */
+    public JSONObject toJson(){
+        JSONObject json = extra == null ? new JSONObject() : new JSONObject(extra);
+        if(id != null)
+            json.put("id", id);
+        if(username != null)
+            json.put("username", username);
+        if(discriminator != null)
+            json.put("discriminator", discriminator);
+        if(owners != null)
+            json.put("owners", new JSONArray(owners));
+        if(serverCount >= 0)
+            json.put("server_count", serverCount);
+        if(invite != null)
+            json.put("invite", invite);
+
+        if(listings != null){
+            JSONObject listData = new JSONObject();
+            for(SiteListing listing : listings.values())
+                listData.put(listing.getSite(), listing.toJson());
+
+            json.put("list_data", listData);
+        }
+
+        return json;
+    }
+
+    @Override
+    public boolean equals(Object obj){
+        if(this == obj)
+            return true;
+        if(!(obj instanceof BotInfo))
+            return false;
+
+        BotInfo other = (BotInfo)obj;
+        return serverCount == other.serverCount
+                && Objects.equals(id, other.id)
+                && Objects.equals(username, other.username)
+                && Objects.equals(discriminator, other.discriminator)
+                && Objects.equals(owners, other.owners)
+                && Objects.equals(invite, other.invite)
+                && Objects.equals(listings, other.listings)
+                && Objects.equals(extra, other.extra);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(id, username, discriminator, owners, serverCount, invite, listings, extra);
+    }
+
+    @Override
+    public String toString(){
+        return String.format("BotInfo{id=%s, username=%s, listings=%d}", id, username, getListings().size());
+    }
+
+    private static boolean isStringArray(JSONArray array){
+        for(int i = 0; i < array.length(); i++)
+            if(!(array.get(i) instanceof String))
+                return false;
+
+        return true;
+    }
+
+    private static List<String> toList(JSONArray array){
+        List<String> list = new ArrayList<>(array.length());
+        for(int i = 0; i < array.length(); i++)
+            list.add(array.getString(i));
+
+        return Collections.unmodifiableList(list);
+    }
+
+    private static Map<String, SiteListing> toListings(JSONObject listData){
+        Map<String, SiteListing> listings = new HashMap<>(Math.max(4, listData.length() * 4 / 3 + 1));
+        for(String site : listData.keySet()){
+            SiteListing listing = SiteListing.of(site, listData.get(site));
+            listings.put(listing.getSite(), listing);
+        }
+
+        return Collections.unmodifiableMap(listings);
+    }
+}
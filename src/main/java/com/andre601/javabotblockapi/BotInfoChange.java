@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import java.util.*;
+
+/**
+ * Changes of the information a bot has on the botlists, compared to the previous poll.
+ * <br>The information of each botlist is a {@link com.andre601.javabotblockapi.SiteListing SiteListing}, just like in
+ * {@link com.andre601.javabotblockapi.BotInfo#getListings() BotInfo.getListings()}.
+ *
+ * @since v2.0.0
+ */
+public final class BotInfoChange{
+    private final String botId;
+    private final Map<String, SiteListing> changed;
+    private final Set<String> removed;
+
+    BotInfoChange(String botId, Map<String, SiteListing> changed, Set<String> removed){
+        this.botId = botId;
+        this.changed = Collections.unmodifiableMap(changed);
+        this.removed = Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * Gets the ID of the watched bot.
+     *
+     * @return The ID of the bot.
+     */
+    public String getBotId(){
+        return botId;
+    }
+
+    /**
+     * Gets the botlists whose information was added or changed, together with the new information.
+     * <br>Entries that BotBlock sent in an unusual format are part of it too. Use
+     * {@link com.andre601.javabotblockapi.SiteListing#toJson() SiteListing.toJson()} to get them as they were sent.
+     *
+     * @return Unmodifiable Map with the names of the botlists and their new
+     *         {@link com.andre601.javabotblockapi.SiteListing SiteListing}.
+     */
+    public Map<String, SiteListing> getChangedSites(){
+        return changed;
+    }
+
+    /**
+     * Gets the botlists that no longer list the bot.
+     *
+     * @return Unmodifiable Set with the names of the botlists.
+     */
+    public Set<String> getRemovedSites(){
+        return removed;
+    }
+
+    /*
+     * Combines this change with a newer one. Newer information of a site replaces older one.
+     */
+    BotInfoChange merge(BotInfoChange newer){
+        Map<String, SiteListing> changed = new HashMap<>(this.changed);
+        Set<String> removed = new HashSet<>(this.removed);
+
+        for(Map.Entry<String, SiteListing> entry : newer.changed.entrySet()){
+            changed.put(entry.getKey(), entry.getValue());
+            removed.remove(entry.getKey());
+        }
+        for(String site : newer.removed){
+            changed.remove(site);
+            removed.add(site);
+        }
+
+        return new BotInfoChange(botId, changed, removed);
+    }
+
+    boolean isEmpty(){
+        return changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString(){
+        return String.format(
+                "BotInfoChange{botId=%s, changed=%s, removed=%s}",
+                botId,
+                changed.keySet(),
+                removed
+        );
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener for changes of the information a bot has on the botlists.
+ * <br>Used with {@link RequestHandler#watchBotInfos(String, long, java.util.concurrent.TimeUnit, BotInfoListener)}.
+ *
+ * <p>Changes are never delivered to a single listener concurrently. Changes that happen while the listener is still
+ * handling the previous one are combined into a single change, so a slow listener never falls behind.
+ *
+ * @since v2.0.0
+ */
+@FunctionalInterface
+public interface BotInfoListener{
+
+    /**
+     * Called when the information of one or multiple botlists changed.
+     *
+     * @param change
+     *        The {@link com.andre601.javabotblockapi.BotInfoChange BotInfoChange} with the changed botlists.
+     */
+    void onChange(@NotNull BotInfoChange change);
+
+    /**
+     * Called when polling the information failed. Polling continues on the next interval.
+     * <br>Prints the stack trace by default.
+     *
+     * @param botId
+     *        The ID of the watched bot.
+     * @param throwable
+     *        The reason why polling failed.
+     */
+    default void onError(@NotNull String botId, @NotNull Throwable throwable){
+        throwable.printStackTrace();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Polls the information of a single bot for all of its watches, and sends each of them the botlists that changed.
+ *
+ * <p>The bot is polled at the shortest interval of all watches, which is recalculated whenever a watch is added or
+ * cancelled. A poll is skipped while the previous one is still
+ * running, so a slow BotBlock API never causes requests to pile up.
+ */
+final class BotInfoPoller{
+    private final String botId;
+    private final Supplier<CompletableFuture<BotInfo>> fetcher;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Runnable onEmpty;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+
+    private ScheduledFuture<?> task = null;
+    private long interval = Long.MAX_VALUE;
+    private boolean closed = false;
+
+    // Only accessed by one poll at a time.
+    private Map<String, SiteListing> previous = null;
+
+    BotInfoPoller(String botId, Supplier<CompletableFuture<BotInfo>> fetcher, ScheduledExecutorService scheduler,
+                  Executor executor, Runnable onEmpty){
+        this.botId = botId;
+        this.fetcher = fetcher;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.onEmpty = onEmpty;
+    }
+
+    /*
+     * Returns null if the poller was closed in the meantime, in which case a new poller needs to be created.
+     */
+    synchronized BotInfoWatch subscribe(BotInfoListener listener, long intervalNanos){
+        if(closed)
+            return null;
+
+        Subscriber subscriber = new Subscriber(listener, intervalNanos);
+        subscribers.add(subscriber);
+
+        if(intervalNanos < interval)
+            schedule(intervalNanos, 0);
+
+        return new BotInfoWatch(this, subscriber);
+    }
+
+    void unsubscribe(Subscriber subscriber){
+        synchronized(this){
+            subscriber.cancelled = true;
+            if(!subscribers.remove(subscriber))
+                return;
+
+            if(!subscribers.isEmpty()){
+                // The cancelled watch may have had the shortest interval. The next poll still uses the old one.
+                long shortest = Long.MAX_VALUE;
+                for(Subscriber remaining : subscribers)
+                    shortest = Math.min(shortest, remaining.interval);
+
+                if(shortest != interval)
+                    schedule(shortest, interval);
+
+                return;
+            }
+
+            close();
+        }
+
+        // Called without holding the lock, as the RequestHandler locks its watchers before subscribing.
+        onEmpty.run();
+    }
+
+    private void schedule(long intervalNanos, long initialDelayNanos){
+        interval = intervalNanos;
+        if(task != null)
+            task.cancel(false);
+
+        task = scheduler.scheduleWithFixedDelay(this::poll, initialDelayNanos, interval, TimeUnit.NANOSECONDS);
+    }
+
+    synchronized boolean isClosed(){
+        return closed;
+    }
+
+    synchronized void close(){
+        closed = true;
+        subscribers.forEach(subscriber -> subscriber.cancelled = true);
+        subscribers.clear();
+
+        if(task != null)
+            task.cancel(false);
+    }
+
+    private void poll(){
+        if(!polling.compareAndSet(false, true))
+            return;
+
+        CompletableFuture<BotInfo> future;
+        try{
+            future = fetcher.get();
+        }catch(RuntimeException ex){
+            polling.set(false);
+            subscribers.forEach(subscriber -> subscriber.error(ex));
+            return;
+        }
+
+        future.whenComplete((botInfo, throwable) -> {
+            try{
+                if(throwable != null){
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause()
+                            : throwable;
+                    subscribers.forEach(subscriber -> subscriber.error(cause));
+                }else{
+                    update(botInfo.getListings());
+                }
+            }catch(RuntimeException ex){
+                subscribers.forEach(subscriber -> subscriber.error(ex));
+            }finally{
+                polling.set(false);
+            }
+        });
+    }
+
+    /*
+     * Compares the botlists with the previous poll. The first poll only remembers the current state.
+     */
+    private void update(Map<String, SiteListing> current){
+        Map<String, SiteListing> last = previous;
+        previous = current;
+        if(last == null)
+            return;
+
+        Map<String, SiteListing> changed = new HashMap<>();
+        for(Map.Entry<String, SiteListing> entry : current.entrySet()){
+            if(!entry.getValue().equals(last.get(entry.getKey())))
+                changed.put(entry.getKey(), entry.getValue());
+        }
+
+        Set<String> removed = new HashSet<>(last.keySet());
+        removed.removeAll(current.keySet());
+
+        BotInfoChange change = new BotInfoChange(botId, changed, removed);
+        if(!change.isEmpty())
+            subscribers.forEach(subscriber -> subscriber.offer(change));
+    }
+
+    /*
+     * A single watch. Changes are delivered one after another, and changes that arrive during a delivery are merged
+     * into one.
+     */
+    final class Subscriber{
+        private final BotInfoListener listener;
+        private final long interval;
+
+        private volatile boolean cancelled = false;
+        private BotInfoChange pending = null;
+        private boolean delivering = false;
+
+        private Subscriber(BotInfoListener listener, long interval){
+            this.listener = listener;
+            this.interval = interval;
+        }
+
+        boolean isCancelled(){
+            return cancelled;
+        }
+
+        private void offer(BotInfoChange change){
+            synchronized(this){
+                pending = pending == null ? change : pending.merge(change);
+                if(delivering)
+                    return;
+
+                delivering = true;
+            }
+
+            try{
+                executor.execute(this::deliver);
+            }catch(RejectedExecutionException ex){
+                synchronized(this){
+                    delivering = false;
+                }
+            }
+        }
+
+        private void deliver(){
+            while(true){
+                BotInfoChange change;
+                synchronized(this){
+                    change = pending;
+                    pending = null;
+                    if(change == null || cancelled){
+                        delivering = false;
+                        return;
+                    }
+                }
+
+                try{
+                    listener.onChange(change);
+                }catch(RuntimeException ex){
+                    ex.printStackTrace();
+                }
+            }
+        }
+
+        private void error(Throwable throwable){
+            if(cancelled)
+                return;
+
+            try{
+                executor.execute(() -> listener.onError(botId, throwable));
+            }catch(RejectedExecutionException ignored){}
+        }
+    }
+}
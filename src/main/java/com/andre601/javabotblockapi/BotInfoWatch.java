@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+/**
+ * Handle of a watch started through
+ * {@link RequestHandler#watchBotInfos(String, long, java.util.concurrent.TimeUnit, BotInfoListener)}.
+ *
+ * @since v2.0.0
+ */
+public final class BotInfoWatch{
+    private final BotInfoPoller poller;
+    private final BotInfoPoller.Subscriber subscriber;
+
+    BotInfoWatch(BotInfoPoller poller, BotInfoPoller.Subscriber subscriber){
+        this.poller = poller;
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Stops the watch. The listener won't receive any further changes.
+     * <br>Polling of the bot stops once no watch for it is left.
+     */
+    public void cancel(){
+        poller.unsubscribe(subscriber);
+    }
+
+    /**
+     * Returns if the watch was cancelled.
+     *
+     * @return True if the watch was cancelled, otherwise false.
+     */
+    public boolean isCancelled(){
+        return subscriber.isCancelled();
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Immutable information about a botlist that BotBlock supports, as returned by the {@code lists} endpoint.
+ *
+ * <p>The name of the botlist and the names of its fields are interned, since most botlists use the same ones
+ * (f.e. {@code server_count}).
+ *
+ * <p>Fields are only part of {@link #toJson() toJson()} if BotBlock sent them, so that it always returns what
+ * BotBlock sent. Entries of the {@code lists} endpoint that aren't objects aren't botlists and are skipped.
+ *
+ * <p>Instances can be obtained through {@link RequestHandler#getSites() getSites()} or
+ * {@link BotlistCatalog#getSite(String) BotlistCatalog#getSite(String)}.
+ *
+ * @since v2.0.0
+ */
+public final class Botlist{
+    private static final String[] FIELDS = {
+            "api_docs", "api_post", "api_field", "api_shard_id", "api_shard_count", "api_shards", "api_get"
+    };
+
+    // Decoded right away, unlike SiteListing. The catalog checks every capability of every botlist as soon as it
+    // loads them, which reads most of these fields anyway.
+    private final String name;
+    private final String apiDocs;
+    private final String apiPost;
+    private final String apiField;
+    private final String apiShardId;
+    private final String apiShardCount;
+    private final String apiShards;
+    private final String apiGet;
+    private final String extra;
+    // Bit i is set if BotBlock sent FIELDS[i].
+    private final int present;
+
+    private Botlist(String name, JSONObject json){
+        this.name = name.intern();
+        this.apiDocs = string(json, "api_docs");
+        this.apiPost = string(json, "api_post");
+        this.apiField = intern(string(json, "api_field"));
+        this.apiShardId = intern(string(json, "api_shard_id"));
+        this.apiShardCount = intern(string(json, "api_shard_count"));
+        this.apiShards = intern(string(json, "api_shards"));
+        this.apiGet = string(json, "api_get");
+
+        JSONObject extra = new JSONObject();
+        for(String key : json.keySet())
+            if(!isKnown(key, json))
+                extra.put(key, json.get(key));
+
+        this.extra = extra.length() == 0 ? null : extra.toString();
+
+        int present = 0;
+        for(int i = 0; i < FIELDS.length; i++)
+            if(isKnown(FIELDS[i], json))
+                present |= 1 << i;
+
+        this.present = present;
+    }
+
+    static Botlist of(String name, JSONObject json){
+        return new Botlist(name, json);
+    }
+
+    /*
+     * Decodes the response of the "lists" endpoint, skipping entries that aren't objects.
+     */
+    static Map<String, Botlist> ofAll(JSONObject json){
+        Map<String, Botlist> botlists = new TreeMap<>();
+        for(String name : json.keySet()){
+            JSONObject botlist = json.optJSONObject(name);
+            if(botlist != null)
+                botlists.put(name.intern(), of(name, botlist));
+        }
+
+        return Collections.unmodifiableMap(botlists);
+    }
+
+    /**
+     * Gets the name of the botlist.
+     *
+     * @return The name of the botlist.
+     */
+    public String getName(){
+        return name;
+    }
+
+    /**
+     * Gets the URL to the API documentation of the botlist.
+     *
+     * @return The URL to the documentation, or null if BotBlock doesn't know it.
+     */
+    @Nullable
+    public String getApiDocs(){
+        return apiDocs;
+    }
+
+    /**
+     * Gets the URL that guild counts are posted to. {@code :id} is replaced with the id of the bot.
+     *
+     * @return The URL to post guild counts to, or null if the botlist doesn't support it.
+     */
+    @Nullable
+    public String getApiPost(){
+        return apiPost;
+    }
+
+    /**
+     * Gets the name of the field that contains the guild count.
+     *
+     * @return The name of the field, or null if the botlist doesn't accept guild counts.
+     */
+    @Nullable
+    public String getApiField(){
+        return apiField;
+    }
+
+    /**
+     * Gets the name of the field that contains the shard id.
+     *
+     * @return The name of the field, or null if the botlist doesn't accept shard ids.
+     */
+    @Nullable
+    public String getApiShardId(){
+        return apiShardId;
+    }
+
+    /**
+     * Gets the name of the field that contains the total amount of shards.
+     *
+     * @return The name of the field, or null if the botlist doesn't accept shard counts.
+     */
+    @Nullable
+    public String getApiShardCount(){
+        return apiShardCount;
+    }
+
+    /**
+     * Gets the name of the field that contains the guild counts of each shard.
+     *
+     * @return The name of the field, or null if the botlist doesn't accept them.
+     */
+    @Nullable
+    public String getApiShards(){
+        return apiShards;
+    }
+
+    /**
+     * Gets the URL that information about a bot is received from. {@code :id} is replaced with the id of the bot.
+     *
+     * @return The URL to get information from, or null if the botlist doesn't support it.
+     */
+    @Nullable
+    public String getApiGet(){
+        return apiGet;
+    }
+
+    /**
+     * Returns if the botlist supports the provided {@link BotlistCatalog.Capability Capability}.
+     *
+     * @param  capability
+     *         The {@link BotlistCatalog.Capability Capability} to check. May not be null.
+     *
+     * @return True if the botlist supports the capability, otherwise false.
+     */
+    public boolean supports(@NotNull BotlistCatalog.Capability capability){
+        Check.notNull(capability, "Capability may not be null.");
+
+        return capability.isSupportedBy(this);
+    }
+
+    /**
+     * Converts the botlist back into the format of the BotBlock API.
+     * <br>The returned JSONObject is created on every call, so callers may modify it.
+     *
+     * @return The botlist as JSONObject, like returned by {@link RequestHandler#getBotlist(String) getBotlist(String)}.
+     */
+    public JSONObject toJson(){
+        JSONObject json = extra == null ? new JSONObject() : new JSONObject(extra);
+        for(int i = 0; i < FIELDS.length; i++){
+            if((present & 1 << i) == 0)
+                continue;
+
+            String value = value(FIELDS[i]);
+            json.put(FIELDS[i], value == null ? JSONObject.NULL : value);
+        }
+
+        return json;
+    }
+
+    /*
+     * Returns the value of one of the fields BotBlock provides for every botlist.
+     */
+    String value(String field){
+        switch(field){
+            case "api_docs":
+                return apiDocs;
+            case "api_post":
+                return apiPost;
+            case "api_field":
+                return apiField;
+            case "api_shard_id":
+                return apiShardId;
+            case "api_shard_count":
+                return apiShardCount;
+            case "api_shards":
+                return apiShards;
+            case "api_get":
+                return apiGet;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj){
+        if(this == obj)
+            return true;
+        if(!(obj instanceof Botlist))
+            return false;
+
+        Botlist other = (Botlist)obj;
+        return name.equals(other.name)
+                && present == other.present
+                && Objects.equals(apiDocs, other.apiDocs)
+                && Objects.equals(apiPost, other.apiPost)
+                && Objects.equals(apiField, other.apiField)
+                && Objects.equals(apiShardId, other.apiShardId)
+                && Objects.equals(apiShardCount, other.apiShardCount)
+                && Objects.equals(apiShards, other.apiShards)
+                && Objects.equals(apiGet, other.apiGet)
+                && Objects.equals(extra, other.extra);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(name, apiDocs, apiPost, apiField, apiShardId, apiShardCount, apiShards, apiGet, extra, present);
+    }
+
+    @Override
+    public String toString(){
+        return "Botlist{name=" + name + "}";
+    }
+
+    /*
+     * A known field is only decoded if it was sent as a String or null. Anything else is kept in the extra JSON.
+     */
+    private static boolean isKnown(String key, JSONObject json){
+        for(String field : FIELDS)
+            if(field.equals(key))
+                return json.has(key) && (json.isNull(key) || json.get(key) instanceof String);
+
+        return false;
+    }
+
+    private static String string(JSONObject json, String key){
+        Object value = json.opt(key);
+        return value instanceof String ? (String)value : null;
+    }
+
+    private static String intern(String value){
+        return value == null ? null : value.intern();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * In-memory catalog of the botlists that BotBlock supports.
+ * <br>The catalog is indexed by the name of the botlist and by the {@link Capability capabilities} of each list,
+ * so that lookups don't require any request towards the BotBlock API.
+ *
+ * <p>If a file was provided, the catalog is saved to it after every change and loaded from it on startup, allowing
+ * a restarted bot to answer lookups before the first refresh finished.
+ *
+ * <p>An instance can be obtained through {@link RequestHandler#getBotlistCatalog()} after enabling it with
+ * {@link RequestHandler.Builder#enableBotlistCatalog(File, long, java.util.concurrent.TimeUnit)}.
+ *
+ * @since v2.0.0
+ */
+public final class BotlistCatalog{
+    private final Path file;
+
+    private volatile Snapshot snapshot = null;
+
+    BotlistCatalog(@Nullable File file){
+        this.file = file == null ? null : file.toPath();
+    }
+
+    /**
+     * Returns if the catalog contains any data, either from the file or from the BotBlock API.
+     *
+     * @return True if the catalog was loaded, otherwise false.
+     */
+    public boolean isLoaded(){
+        return snapshot != null;
+    }
+
+    /**
+     * Gets the names of all botlists in the catalog.
+     *
+     * @return Unmodifiable Set with the names of all botlists. Empty if the catalog isn't loaded yet.
+     */
+    public Set<String> getNames(){
+        Snapshot current = snapshot;
+        return current == null ? Collections.emptySet() : current.byName.keySet();
+    }
+
+    /**
+     * Gets the names of all botlists that support the provided {@link Capability Capability}.
+     * <br>For example does {@code getNames(Capability.SHARDS)} return all botlists that accept the guild counts of
+     * each shard.
+     *
+     * @param  capability
+     *         The {@link Capability Capability} the botlists should support. May not be null.
+     *
+     * @return Unmodifiable Set with the names of the botlists. Empty if the catalog isn't loaded yet.
+     */
+    public Set<String> getNames(@NotNull Capability capability){
+        Check.notNull(capability, "Capability may not be null.");
+
+        Snapshot current = snapshot;
+        return current == null ? Collections.emptySet() : current.byCapability.get(capability);
+    }
+
+    /**
+     * Gets the information of a single botlist.
+     * <br>The JSONObject has the same format as the one from {@link RequestHandler#getBotlist(String)}.
+     *
+     * @param  name
+     *         The name of the botlist.
+     *
+     * @return The botlist as JSONObject, or null if the catalog doesn't contain the botlist.
+     */
+    @Nullable
+    public JSONObject getBotlist(@NotNull String name){
+        Snapshot current = snapshot;
+        if(current == null)
+            return null;
+
+        JSONObject botlist = current.json.optJSONObject(name);
+        return botlist == null ? null : (JSONObject)ResponseCache.copy(botlist);
+    }
+
+    /**
+     * Gets all botlists of the catalog.
+     * <br>The JSONObject has the same format as the one from {@link RequestHandler#getBotlists()}.
+     *
+     * @return The botlists as JSONObject, or null if the catalog isn't loaded yet.
+     */
+    @Nullable
+    public JSONObject getBotlists(){
+        Snapshot current = snapshot;
+        return current == null ? null : (JSONObject)ResponseCache.copy(current.json);
+    }
+
+    /**
+     * Gets a single botlist as {@link com.andre601.javabotblockapi.Botlist Botlist}.
+     * <br>Unlike {@link #getBotlist(String) getBotlist(String)} does this not create any copy.
+     *
+     * @param  name
+     *         The name of the botlist.
+     *
+     * @return The botlist, or null if the catalog doesn't contain the botlist.
+     */
+    @Nullable
+    public Botlist getSite(@NotNull String name){
+        Snapshot current = snapshot;
+        return current == null ? null : current.byName.get(name);
+    }
+
+    /**
+     * Gets all botlists of the catalog as {@link com.andre601.javabotblockapi.Botlist Botlists}.
+     * <br>Unlike {@link #getBotlists() getBotlists()} does this not create any copy.
+     *
+     * @return Unmodifiable Map of the botlists, mapped by their name, or null if the catalog isn't loaded yet.
+     */
+    @Nullable
+    public Map<String, Botlist> getSites(){
+        Snapshot current = snapshot;
+        return current == null ? null : current.byName;
+    }
+
+    String getEtag(){
+        Snapshot current = snapshot;
+        return current == null ? null : current.etag;
+    }
+
+    String getLastModified(){
+        Snapshot current = snapshot;
+        return current == null ? null : current.lastModified;
+    }
+
+    void update(JSONObject json, String etag, String lastModified) throws IOException{
+        this.snapshot = new Snapshot(json, etag, lastModified);
+
+        save();
+    }
+
+    /**
+     * Loads the catalog from the file, if one was provided and it exists.
+     */
+    void load() throws IOException{
+        if(file == null || !Files.exists(file))
+            return;
+
+        try{
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+
+            this.snapshot = new Snapshot(
+                    json.getJSONObject("lists"),
+                    json.optString("etag", null),
+                    json.optString("last_modified", null)
+            );
+        }catch(JSONException ex){
+            throw new IOException("Couldn't read botlist catalog from " + file, ex);
+        }
+    }
+
+    private void save() throws IOException{
+        Snapshot current = snapshot;
+        if(file == null || current == null)
+            return;
+
+        JSONObject json = new JSONObject()
+                .put("lists", current.json)
+                .put("etag", current.etag)
+                .put("last_modified", current.lastModified);
+
+        // Write to a temporary file first, so that a crash never leaves a half-written catalog behind.
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try{
+            Files.write(temp, json.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Capabilities a botlist may support, based on the fields that BotBlock provides for it.
+     */
+    public enum Capability{
+        /**
+         * The botlist accepts guild counts ({@code api_post}).
+         */
+        POST("api_post"),
+
+        /**
+         * The botlist provides information about a bot ({@code api_get}).
+         */
+        GET("api_get"),
+
+        /**
+         * The botlist accepts the id of the shard ({@code api_shard_id}).
+         */
+        SHARD_ID("api_shard_id"),
+
+        /**
+         * The botlist accepts the total amount of shards ({@code api_shard_count}).
+         */
+        SHARD_COUNT("api_shard_count"),
+
+        /**
+         * The botlist accepts the guild counts of each shard ({@code api_shards}).
+         */
+        SHARDS("api_shards");
+
+        private final String field;
+
+        Capability(String field){
+            this.field = field;
+        }
+
+        boolean isSupportedBy(Botlist botlist){
+            String value = botlist.value(field);
+            return value != null && !value.isEmpty();
+        }
+    }
+
+    /*
+     * Immutable view of the catalog. Replaced as a whole on every update, so readers never need to lock.
+     */
+    private static final class Snapshot{
+        private final JSONObject json;
+        private final String etag;
+        private final String lastModified;
+        private final Map<String, Botlist> byName;
+        private final Map<Capability, Set<String>> byCapability;
+
+        private Snapshot(JSONObject json, String etag, String lastModified){
+            this.json = json;
+            this.etag = etag;
+            this.lastModified = lastModified;
+
+            Map<String, Botlist> byName = Botlist.ofAll(json);
+            Map<Capability, Set<String>> byCapability = new EnumMap<>(Capability.class);
+            for(Capability capability : Capability.values())
+                byCapability.put(capability, new TreeSet<>());
+
+            for(Botlist botlist : byName.values())
+                for(Capability capability : Capability.values())
+                    if(capability.isSupportedBy(botlist))
+                        byCapability.get(capability).add(botlist.getName());
+
+            for(Capability capability : Capability.values())
+                byCapability.put(capability, Collections.unmodifiableSet(byCapability.get(capability)));
+
+            this.byName = byName;
+            this.byCapability = byCapability;
+        }
+    }
+}
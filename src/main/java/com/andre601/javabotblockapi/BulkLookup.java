@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Looks up the information of many bots, with at most a fixed amount of requests running at the same time.
+ *
+ * <p>Requests are started at least the configured spacing apart. When BotBlock ratelimits a lookup, no further
+ * lookups are started until the {@code retry_after} passed, and the ratelimited id is looked up again first.
+ *
+ * <p>If the scheduler was shut down while lookups still had to wait, the ids that weren't looked up yet fail with the
+ * {@link java.util.concurrent.RejectedExecutionException RejectedExecutionException}, so that the result still
+ * completes.
+ */
+final class BulkLookup{
+    /*
+     * An id that keeps getting ratelimited is counted as failed after this many attempts.
+     */
+    private static final int MAX_RATELIMITS = 3;
+
+    private final Function<String, CompletableFuture<BotInfo>> fetcher;
+    private final ScheduledExecutorService scheduler;
+    private final int maxConcurrency;
+    private final long spacing;
+    private final Consumer<BulkResult.Entry> callback;
+
+    private final CompletableFuture<BulkResult> future = new CompletableFuture<>();
+    private final Deque<String> queue;
+    private final Map<String, Integer> ratelimits = new HashMap<>();
+    private final Map<String, BotInfo> results = new LinkedHashMap<>();
+    private final Map<String, Throwable> failures = new LinkedHashMap<>();
+
+    private int running = 0;
+    private int remaining;
+    private long nextStart = System.nanoTime();
+    private boolean wakeupScheduled = false;
+
+    BulkLookup(Collection<String> ids, Function<String, CompletableFuture<BotInfo>> fetcher,
+               ScheduledExecutorService scheduler, int maxConcurrency, long spacing,
+               Consumer<BulkResult.Entry> callback){
+        this.queue = new ArrayDeque<>(new LinkedHashSet<>(ids));
+        this.remaining = queue.size();
+        this.fetcher = fetcher;
+        this.scheduler = scheduler;
+        this.maxConcurrency = maxConcurrency;
+        this.spacing = spacing;
+        this.callback = callback;
+    }
+
+    CompletableFuture<BulkResult> start(){
+        if(remaining == 0)
+            future.complete(new BulkResult(results, failures));
+        else
+            launch();
+
+        return future;
+    }
+
+    private void launch(){
+        List<String> ids = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+        RejectedExecutionException rejection = null;
+        synchronized(this){
+            while(running < maxConcurrency && !queue.isEmpty()){
+                long now = System.nanoTime();
+                if(now - nextStart < 0){
+                    try{
+                        scheduleWakeup(nextStart - now);
+                    }catch(RejectedExecutionException ex){
+                        // Nothing would ever look up the ids that are left.
+                        rejection = ex;
+                        rejected.addAll(queue);
+                        queue.clear();
+                    }
+                    break;
+                }
+
+                ids.add(queue.poll());
+                running++;
+                nextStart = now + spacing;
+            }
+        }
+
+        for(String id : rejected)
+            finish(id, null, rejection);
+        for(String id : ids)
+            lookup(id);
+    }
+
+    private void scheduleWakeup(long delay){
+        if(wakeupScheduled)
+            return;
+
+        scheduler.schedule(() -> {
+            synchronized(this){
+                wakeupScheduled = false;
+            }
+
+            launch();
+        }, delay, TimeUnit.NANOSECONDS);
+        wakeupScheduled = true;
+    }
+
+    private void lookup(String id){
+        CompletableFuture<BotInfo> lookup;
+        try{
+            lookup = fetcher.apply(id);
+        }catch(RuntimeException ex){
+            lookup = new CompletableFuture<>();
+            lookup.completeExceptionally(ex);
+        }
+
+        lookup.whenComplete((botInfo, throwable) -> complete(id, botInfo, throwable));
+    }
+
+    private void complete(String id, BotInfo botInfo, Throwable throwable){
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        boolean retry = false;
+        synchronized(this){
+            running--;
+
+            if(cause instanceof RatelimitedException && ratelimits.merge(id, 1, Integer::sum) < MAX_RATELIMITS){
+                long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(((RatelimitedException)cause).getDelay());
+                if(nextStart - until < 0)
+                    nextStart = until;
+
+                queue.addFirst(id);
+                retry = true;
+            }
+        }
+
+        if(!retry && finish(id, botInfo, cause))
+            return;
+
+        launch();
+    }
+
+    /*
+     * Records the outcome of a single id. Returns true if it was the last one and the result was completed.
+     */
+    private boolean finish(String id, BotInfo botInfo, Throwable cause){
+        BulkResult result = null;
+        synchronized(this){
+            if(cause == null)
+                results.put(id, botInfo);
+            else
+                failures.put(id, cause);
+
+            if(--remaining == 0)
+                result = new BulkResult(results, failures);
+        }
+
+        if(callback != null){
+            try{
+                callback.accept(new BulkResult.Entry(id, botInfo, cause));
+            }catch(RuntimeException ex){
+                ex.printStackTrace();
+            }
+        }
+
+        if(result == null)
+            return false;
+
+        future.complete(result);
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a bulk lookup through {@link RequestHandler#getAll(java.util.Collection) getAll(Collection)}.
+ * <br>Every requested id is either in {@link #getResults() getResults()} or in {@link #getFailures() getFailures()},
+ * since a failed lookup never fails the whole bulk lookup.
+ *
+ * @since v2.0.0
+ */
+public final class BulkResult{
+    private final Map<String, BotInfo> results;
+    private final Map<String, Throwable> failures;
+
+    BulkResult(Map<String, BotInfo> results, Map<String, Throwable> failures){
+        this.results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * Returns if the lookup of every id was successful.
+     *
+     * @return True if no lookup failed, otherwise false.
+     */
+    public boolean isSuccessful(){
+        return failures.isEmpty();
+    }
+
+    /**
+     * Gets the information of all bots that could be received, in the order in which the lookups completed.
+     *
+     * @return Unmodifiable Map with the ids and their {@link com.andre601.javabotblockapi.BotInfo BotInfo}.
+     */
+    public Map<String, BotInfo> getResults(){
+        return results;
+    }
+
+    /**
+     * Gets the reason of every lookup that failed, in the order in which the lookups completed.
+     * <br>The reason is usually an {@link java.io.IOException IOException} or a
+     * {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}.
+     *
+     * @return Unmodifiable Map with the ids and the reason why their lookup failed.
+     */
+    public Map<String, Throwable> getFailures(){
+        return failures;
+    }
+
+    /**
+     * Gets the information of a single bot.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return The {@link com.andre601.javabotblockapi.BotInfo BotInfo}, or null if the lookup failed or the id wasn't
+     *         requested.
+     */
+    @Nullable
+    public BotInfo getResult(@NotNull String id){
+        return results.get(id);
+    }
+
+    @Override
+    public String toString(){
+        return String.format("BulkResult{results=%d, failures=%d}", results.size(), failures.size());
+    }
+
+    /**
+     * The result of the lookup of a single id.
+     * <br>Entries are passed to the callback of
+     * {@link RequestHandler#getAllAsync(java.util.Collection, java.util.function.Consumer) getAllAsync(Collection, Consumer)}
+     * as soon as their lookup completed.
+     */
+    public static final class Entry{
+        private final String id;
+        private final BotInfo botInfo;
+        private final Throwable failure;
+
+        Entry(String id, BotInfo botInfo, Throwable failure){
+            this.id = id;
+            this.botInfo = botInfo;
+            this.failure = failure;
+        }
+
+        /**
+         * Gets the id of the bot.
+         *
+         * @return The id of the bot.
+         */
+        public String getId(){
+            return id;
+        }
+
+        /**
+         * Returns if the lookup was successful.
+         *
+         * @return True if the information of the bot was received, otherwise false.
+         */
+        public boolean isSuccess(){
+            return failure == null;
+        }
+
+        /**
+         * Gets the information of the bot.
+         *
+         * @return The {@link com.andre601.javabotblockapi.BotInfo BotInfo}, or null if the lookup failed.
+         */
+        @Nullable
+        public BotInfo getBotInfo(){
+            return botInfo;
+        }
+
+        /**
+         * Gets the reason why the lookup failed.
+         *
+         * @return The reason, or null if the lookup was successful.
+         */
+        @Nullable
+        public Throwable getFailure(){
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker for a single endpoint of the BotBlock API.
+ *
+ * <p>After the configured amount of consecutive failures, the circuit opens and requests fail immediately without
+ * being send. Once the open duration passed, a single request is let through as a probe. If it succeeds, the
+ * circuit closes again, otherwise it stays open for another open duration.
+ */
+final class CircuitBreaker{
+    private enum State{
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private long openedAt = 0;
+
+    CircuitBreaker(int failureThreshold, long openDuration){
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Returns if a request may be send. When the open duration passed, this lets exactly one probe through.
+     */
+    synchronized boolean tryAcquire(){
+        switch(state){
+            case CLOSED:
+                return true;
+            case OPEN:
+                if(System.nanoTime() - openedAt < openDuration)
+                    return false;
+
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // A probe is already running.
+                return false;
+        }
+    }
+
+    synchronized void recordSuccess(){
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    synchronized void recordFailure(){
+        failures++;
+        if(state == State.HALF_OPEN || failures >= failureThreshold){
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Gets the time until the next probe may be send, in seconds.
+     */
+    synchronized long getRemainingSeconds(){
+        long remaining = openDuration - (System.nanoTime() - openedAt);
+        return Math.max(0, TimeUnit.NANOSECONDS.toSeconds(remaining));
+    }
+}
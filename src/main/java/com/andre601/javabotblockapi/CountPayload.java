@@ -0,0 +1,306 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the data that is posted to the {@code count} endpoint of the BotBlock API.
+ * <br>A new instance is created for every post, so that concurrent posts never share any state.
+ */
+final class CountPayload{
+    private static final byte[] SERVER_COUNT = ascii("{\"server_count\":");
+    private static final byte[] BOT_ID = ascii(",\"bot_id\":");
+    private static final byte[] SHARD_ID = ascii(",\"shard_id\":");
+    private static final byte[] SHARD_COUNT = ascii(",\"shard_count\":");
+    private static final byte[] SHARDS = ascii(",\"shards\":[");
+
+    private final String botId;
+    private final int serverCount;
+    private final int shardId;
+    private final int shardCount;
+    private final int[] shards;
+    private final AuthTokens authTokens;
+
+    private CountPayload(String botId, int serverCount, int shardId, int shardCount, int[] shards,
+                         AuthTokens authTokens){
+        Check.notEmpty(botId, "ID may not be empty.");
+        Check.notNull(authTokens, "AuthTokens may not be null.");
+
+        this.botId = botId;
+        this.serverCount = serverCount;
+        this.shardId = shardId;
+        this.shardCount = shardCount;
+        this.shards = shards;
+        this.authTokens = authTokens;
+    }
+
+    /**
+     * Creates a payload containing only the bot id and the server count.
+     */
+    static CountPayload of(String botId, int serverCount, AuthTokens authTokens){
+        return new CountPayload(botId, serverCount, -1, -1, null, authTokens);
+    }
+
+    /**
+     * Creates a payload for a single shard of a bot.
+     */
+    static CountPayload ofShard(String botId, int serverCount, int shardId, int shardCount,
+                                AuthTokens authTokens){
+        return new CountPayload(botId, serverCount, shardId, shardCount, null, authTokens);
+    }
+
+    /**
+     * Creates a payload containing the guild counts of every shard.
+     * <br>The provided array is copied.
+     */
+    static CountPayload ofShards(String botId, int serverCount, int[] shards, AuthTokens authTokens){
+        return new CountPayload(botId, serverCount, -1, shards.length, shards.clone(), authTokens);
+    }
+
+    /**
+     * Creates a payload for all shards of the provided ShardManager.
+     * <br>The guild count of each shard is taken from the size of its guild cache, which doesn't require a list of
+     * all guilds to be created.
+     */
+    static CountPayload of(ShardManager shardManager, BotBlockAPI botBlockAPI){
+        String id = Objects.requireNonNull(shardManager.getShardById(0), "Received invalid shard.")
+                .getSelfUser().getId();
+
+        List<JDA> jdas = shardManager.getShards();
+        int[] shards = new int[jdas.size()];
+        int serverCount = 0;
+        for(int i = 0; i < shards.length; i++){
+            shards[i] = (int)jdas.get(i).getGuildCache().size();
+            serverCount += shards[i];
+        }
+
+        return new CountPayload(id, serverCount, -1, shards.length, shards, botBlockAPI.getAuthTokens());
+    }
+
+    /**
+     * Creates a payload for the provided JDA, including shard id and shard count if it is part of a sharded bot.
+     */
+    static CountPayload of(JDA jda, BotBlockAPI botBlockAPI){
+        String id = jda.getSelfUser().getId();
+        int guilds = (int)jda.getGuildCache().size();
+
+        JDA.ShardInfo shardInfo = jda.getShardInfo();
+        if(shardInfo != null && shardInfo.getShardTotal() > 1)
+            return ofShard(id, guilds, shardInfo.getShardId(), shardInfo.getShardTotal(), botBlockAPI.getAuthTokens());
+
+        return of(id, guilds, botBlockAPI.getAuthTokens());
+    }
+
+    String getBotId(){
+        return botId;
+    }
+
+    /**
+     * Identifies the counts that this payload replaces when posted: Those of the same bot, or of the same shard if
+     * the payload only contains a single shard.
+     */
+    String getCountKey(){
+        return shardId < 0 ? botId : botId + ':' + shardId;
+    }
+
+    /**
+     * Checks if the provided payload posts the same counts as this one, ignoring the tokens.
+     */
+    boolean hasSameCounts(CountPayload other){
+        return botId.equals(other.botId)
+                && serverCount == other.serverCount
+                && shardId == other.shardId
+                && shardCount == other.shardCount
+                && Arrays.equals(shards, other.shards);
+    }
+
+    AuthTokens getAuthTokens(){
+        return authTokens;
+    }
+
+    /**
+     * Creates a copy of this payload that uses the provided tokens.
+     */
+    CountPayload withAuthTokens(AuthTokens authTokens){
+        return new CountPayload(botId, serverCount, shardId, shardCount, shards, authTokens);
+    }
+
+    /**
+     * Writes the counts of the payload as JSON, leaving out the tokens.
+     */
+    String toCountJsonString(){
+        JSONObject json = new JSONObject()
+                .put("bot_id", botId)
+                .put("server_count", serverCount);
+
+        if(shardId >= 0)
+            json.put("shard_id", shardId);
+        if(shardCount >= 0)
+            json.put("shard_count", shardCount);
+        if(shards != null)
+            json.put("shards", shards);
+
+        return json.toString();
+    }
+
+    /**
+     * Reads counts written by {@link #toCountJsonString()} and combines them with the provided tokens.
+     */
+    static CountPayload fromCountJson(JSONObject json, AuthTokens authTokens){
+        int[] shards = null;
+        JSONArray array = json.optJSONArray("shards");
+        if(array != null){
+            shards = new int[array.length()];
+            for(int i = 0; i < shards.length; i++)
+                shards[i] = array.getInt(i);
+        }
+
+        return new CountPayload(
+                json.getString("bot_id"),
+                json.getInt("server_count"),
+                json.optInt("shard_id", -1),
+                json.optInt("shard_count", -1),
+                shards,
+                authTokens
+        );
+    }
+
+    /**
+     * Writes the payload in the format of a single botlist, using the field names the botlist expects.
+     * <br>Shard values are only added if the botlist has a field for them.
+     */
+    String toSiteJsonString(String countField, String shardIdField, String shardCountField, String shardsField){
+        StringBuilder builder = new StringBuilder(64 + (shards == null ? 0 : shards.length * 8))
+                .append('{').append(JSONObject.quote(countField)).append(':').append(serverCount);
+
+        if(shardId >= 0 && shardIdField != null)
+            builder.append(',').append(JSONObject.quote(shardIdField)).append(':').append(shardId);
+        if(shardCount >= 0 && shardCountField != null)
+            builder.append(',').append(JSONObject.quote(shardCountField)).append(':').append(shardCount);
+
+        if(shards != null && shardsField != null){
+            builder.append(',').append(JSONObject.quote(shardsField)).append(":[");
+            for(int i = 0; i < shards.length; i++){
+                if(i > 0)
+                    builder.append(',');
+
+                builder.append(shards[i]);
+            }
+            builder.append(']');
+        }
+
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Writes the payload as UTF-8 encoded JSON, without creating any intermediate JSONObject, JSONArray or String.
+     * <br>Only the counts are written for every post. The tokens are copied from the fragment that
+     * {@link AuthTokens AuthTokens} created once. The size of the body is calculated first, so that it is written
+     * straight into an array of the exact size.
+     */
+    byte[] toJsonBytes(){
+        byte[] id = JSONObject.quote(botId).getBytes(StandardCharsets.UTF_8);
+        byte[] fragment = authTokens.getFragment();
+
+        int size = SERVER_COUNT.length + length(serverCount) + BOT_ID.length + id.length + fragment.length + 1;
+        if(shardId >= 0)
+            size += SHARD_ID.length + length(shardId);
+        if(shardCount >= 0)
+            size += SHARD_COUNT.length + length(shardCount);
+        if(shards != null){
+            // Separating commas and the closing bracket
+            size += SHARDS.length + Math.max(shards.length, 1);
+            for(int shard : shards)
+                size += length(shard);
+        }
+
+        byte[] body = new byte[size];
+        int pos = putInt(body, put(body, 0, SERVER_COUNT), serverCount);
+        pos = put(body, put(body, pos, BOT_ID), id);
+
+        if(shardId >= 0)
+            pos = putInt(body, put(body, pos, SHARD_ID), shardId);
+        if(shardCount >= 0)
+            pos = putInt(body, put(body, pos, SHARD_COUNT), shardCount);
+
+        if(shards != null){
+            pos = put(body, pos, SHARDS);
+            for(int i = 0; i < shards.length; i++){
+                if(i > 0)
+                    body[pos++] = ',';
+
+                pos = putInt(body, pos, shards[i]);
+            }
+            body[pos++] = ']';
+        }
+
+        pos = put(body, pos, fragment);
+        body[pos] = '}';
+
+        return body;
+    }
+
+    private static byte[] ascii(String value){
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int put(byte[] body, int pos, byte[] bytes){
+        System.arraycopy(bytes, 0, body, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    /*
+     * Number of bytes the value takes in JSON, including the sign.
+     */
+    private static int length(int value){
+        long remaining = Math.abs((long)value);
+        int length = value < 0 ? 2 : 1;
+        for(long limit = 10; limit <= remaining; limit *= 10)
+            length++;
+
+        return length;
+    }
+
+    /*
+     * Writes the digits from the back, so that no String has to be created for the number.
+     */
+    private static int putInt(byte[] body, int pos, int value){
+        int end = pos + length(value);
+        if(value < 0)
+            body[pos] = '-';
+
+        long remaining = Math.abs((long)value);
+        int i = end;
+        do{
+            body[--i] = (byte)('0' + remaining % 10);
+            remaining /= 10;
+        }while(remaining > 0);
+
+        return end;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the last counts of each bot that at least one site accepted, so that auto-posting can skip posts that
+ * wouldn't change anything. Shards that post on their own are tracked on their own.
+ */
+final class DeltaTracker{
+    private final int heartbeat;
+    private final Map<String, Posted> posted = new ConcurrentHashMap<>();
+
+    DeltaTracker(int heartbeat){
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * Checks if the payload should be posted.
+     * <br>This is the case when its counts changed since the last successful post, or when the counts were skipped
+     * for {@code heartbeat - 1} times in a row already.
+     */
+    boolean shouldPost(CountPayload payload){
+        Posted last = posted.get(payload.getCountKey());
+        if(last == null || !last.payload.hasSameCounts(payload))
+            return true;
+
+        return last.skipped.incrementAndGet() >= heartbeat;
+    }
+
+    void recordSuccess(CountPayload payload){
+        posted.put(payload.getCountKey(), new Posted(payload));
+    }
+
+    private static final class Posted{
+        private final CountPayload payload;
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        private Posted(CountPayload payload){
+            this.payload = payload;
+        }
+    }
+}
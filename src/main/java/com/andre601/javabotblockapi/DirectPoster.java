@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import okhttp3.*;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Posts guild counts directly to every botlist in parallel, instead of through the {@code count} endpoint of the
+ * BotBlock API.
+ *
+ * <p>The URL and field names of each botlist are taken from the botlist information of BotBlock. Every site has its
+ * own ratelimit for every bot: Once a site responds with 429, further posts of that bot to it fail without a request
+ * until its {@code Retry-After} passed.
+ *
+ * <p>The results are collected in the same format BotBlock responds with, so that they can be returned as a
+ * {@link PostResult PostResult}.
+ */
+final class DirectPoster{
+    /*
+     * Used when a ratelimited site doesn't send a Retry-After header.
+     */
+    static final long DEFAULT_RETRY_AFTER = 60;
+    static final long MAX_MESSAGE_SIZE = 1024;
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private final OkHttpClient client;
+    private final Supplier<CompletableFuture<Map<String, Botlist>>> botlists;
+    private final MetricsRecorder metrics;
+
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+
+    DirectPoster(OkHttpClient client, Supplier<CompletableFuture<Map<String, Botlist>>> botlists, MetricsRecorder metrics){
+        this.client = client;
+        this.botlists = botlists;
+        this.metrics = metrics;
+    }
+
+    CompletableFuture<PostResult> post(CountPayload payload){
+        return botlists.get().thenCompose(lists -> {
+            JSONObject success = new JSONObject();
+            JSONObject failure = new JSONObject();
+
+            List<CompletableFuture<Void>> posts = new ArrayList<>();
+            for(Map.Entry<String, String> token : payload.getAuthTokens().asMap().entrySet()){
+                String site = token.getKey();
+                Botlist botlist = lists.get(site);
+                if(botlist == null || !botlist.supports(BotlistCatalog.Capability.POST)){
+                    record(failure, site, -1, "Site doesn't support posting guild counts.");
+                    continue;
+                }
+
+                posts.add(post(site, botlist, token.getValue(), payload, success, failure));
+            }
+
+            return CompletableFuture.allOf(posts.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> {
+                        JSONObject json = new JSONObject().put("success", success);
+                        if(failure.length() > 0)
+                            json.put("failure", failure);
+
+                        PostResult result = new PostResult(json);
+                        for(String failed : result.getFailedSites())
+                            metrics.recordSiteFailure(failed);
+
+                        return result;
+                    });
+        });
+    }
+
+    private CompletableFuture<Void> post(String site, Botlist botlist, String token, CountPayload payload,
+                                         JSONObject success, JSONObject failure){
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        // Sites ratelimit each bot on its own, so a ratelimit of one bot never blocks the others.
+        String ratelimitKey = site + ':' + payload.getBotId();
+        Long blocked = blockedUntil.get(ratelimitKey);
+        if(blocked != null){
+            if(System.nanoTime() - blocked < 0){
+                record(failure, site, 429, "Ratelimited by the site.");
+                future.complete(null);
+                return future;
+            }
+
+            blockedUntil.remove(ratelimitKey, blocked);
+        }
+
+        String body = payload.toSiteJsonString(
+                botlist.getApiField() == null ? "server_count" : botlist.getApiField(),
+                field(botlist.getApiShardId()),
+                field(botlist.getApiShardCount()),
+                field(botlist.getApiShards())
+        );
+
+        Request request;
+        try{
+            request = new Request.Builder()
+                    .url(botlist.getApiPost().replace(":id", payload.getBotId()))
+                    .addHeader("Authorization", token)
+                    .addHeader("User-Agent", payload.getBotId())
+                    .post(RequestBody.create(JSON, body))
+                    .build();
+        }catch(IllegalArgumentException ex){
+            record(failure, site, -1, "Invalid URL: " + ex.getMessage());
+            future.complete(null);
+            return future;
+        }
+
+        long start = System.nanoTime();
+        client.newCall(request).enqueue(new Callback(){
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException ex){
+                metrics.recordRequest(MetricsRecorder.Endpoint.SITE, System.nanoTime() - start, false);
+                record(failure, site, -1, String.valueOf(ex.getMessage()));
+                future.complete(null);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response){
+                try(Response res = response){
+                    String message = res.peekBody(MAX_MESSAGE_SIZE).string();
+                    metrics.recordRequest(MetricsRecorder.Endpoint.SITE, System.nanoTime() - start, res.isSuccessful());
+
+                    if(res.isSuccessful()){
+                        record(success, site, res.code(), message);
+                        return;
+                    }
+
+                    if(res.code() == 429){
+                        long retryAfter = retryAfter(res.header("Retry-After"));
+                        blockedUntil.put(ratelimitKey, System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfter));
+                        metrics.recordRatelimit(MetricsRecorder.Endpoint.SITE, (int)retryAfter);
+                    }
+
+                    record(failure, site, res.code(), message);
+                }catch(IOException | RuntimeException ex){
+                    record(failure, site, response.code(), String.valueOf(ex.getMessage()));
+                }finally{
+                    future.complete(null);
+                }
+            }
+        });
+
+        return future;
+    }
+
+    private void record(JSONObject results, String site, int code, String message){
+        // Responses of different sites complete on different threads.
+        synchronized(results){
+            results.put(site, new JSONArray().put(code).put(message));
+        }
+    }
+
+    private static String field(String value){
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static long retryAfter(String header){
+        if(header == null)
+            return DEFAULT_RETRY_AFTER;
+
+        try{
+            return Math.max(1, Long.parseLong(header.trim()));
+        }catch(NumberFormatException ex){
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.ReadyEvent;
+import net.dv8tion.jda.api.events.ResumedEvent;
+import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Posts the guild counts whenever the bot joins or leaves a guild, or when a shard is ready.
+ *
+ * <p>The first event schedules a post after the debounce delay. Any event received until that post is made is part
+ * of it, so that bursts of events only result in a single post. Posts are never made more often than the minimum
+ * interval allows.
+ *
+ * <p>The first time a shard is ready or resumed, the counts still pending in the outbox are posted right away, since
+ * those may be older than anything the debounced post would send.
+ */
+final class EventPostingListener implements EventListener{
+    /*
+     * BotBlock only allows one post every 120 seconds.
+     */
+    static final long MIN_INTERVAL = TimeUnit.MINUTES.toNanos(2);
+
+    private final ScheduledExecutorService scheduler;
+    private final Supplier<CountPayload> payloadSupplier;
+    private final Function<CountPayload, CompletableFuture<PostResult>> poster;
+    private final long debounce;
+    // Null if there is no outbox to flush.
+    private final Runnable flusher;
+
+    private final AtomicBoolean flushed = new AtomicBoolean(false);
+    private final Object lock = new Object();
+    private ScheduledFuture<?> pending = null;
+    private long lastPost = System.nanoTime() - MIN_INTERVAL;
+    private boolean closed = false;
+
+    EventPostingListener(ScheduledExecutorService scheduler, Supplier<CountPayload> payloadSupplier,
+                         Function<CountPayload, CompletableFuture<PostResult>> poster, long debounce,
+                         Runnable flusher){
+        this.scheduler = scheduler;
+        this.payloadSupplier = payloadSupplier;
+        this.poster = poster;
+        this.debounce = debounce;
+        this.flusher = flusher;
+    }
+
+    @Override
+    public void onEvent(@NotNull GenericEvent event){
+        if(event instanceof ReadyEvent || event instanceof ResumedEvent)
+            flush();
+
+        if(event instanceof GuildJoinEvent || event instanceof GuildLeaveEvent || event instanceof ReadyEvent)
+            schedulePost();
+    }
+
+    void close(){
+        synchronized(lock){
+            closed = true;
+            if(pending != null)
+                pending.cancel(false);
+
+            pending = null;
+        }
+    }
+
+    private void flush(){
+        if(flusher == null || !flushed.compareAndSet(false, true))
+            return;
+
+        try{
+            flusher.run();
+        }catch(RuntimeException ex){
+            // The bot may not be known before the first shard is ready. The next ready or resume tries again.
+            flushed.set(false);
+        }
+    }
+
+    private void schedulePost(){
+        synchronized(lock){
+            if(closed || pending != null)
+                return;
+
+            long untilAllowed = lastPost + MIN_INTERVAL - System.nanoTime();
+            pending = scheduler.schedule(this::post, Math.max(debounce, untilAllowed), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void post(){
+        synchronized(lock){
+            pending = null;
+            lastPost = System.nanoTime();
+        }
+
+        try{
+            poster.apply(payloadSupplier.get()).whenComplete((ignored, ex) -> {
+                if(ex != null)
+                    ex.printStackTrace();
+            });
+        }catch(RuntimeException ex){
+            ex.printStackTrace();
+        }
+    }
+}
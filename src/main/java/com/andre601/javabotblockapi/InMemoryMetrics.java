@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link com.andre601.javabotblockapi.MetricsRecorder MetricsRecorder} that keeps all measurements in memory.
+ * <br>Recording only updates {@link java.util.concurrent.atomic.LongAdder LongAdders} and never locks. The current
+ * values can be read at any time through {@link #snapshot() snapshot()}.
+ *
+ * <p>Example:
+ * <br><pre><code>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ * RequestHandler handler = new RequestHandler.Builder()
+ *     .setMetricsRecorder(metrics)
+ *     .build();
+ *
+ * // Later
+ * MetricsSnapshot.EndpointStats count = metrics.snapshot().getStats(MetricsRecorder.Endpoint.COUNT);
+ * </code></pre>
+ *
+ * @since v2.0.0
+ */
+public final class InMemoryMetrics implements MetricsRecorder{
+    /*
+     * Upper bounds of the latency histogram in milliseconds. Slower requests are counted in an additional bucket.
+     */
+    static final long[] BUCKET_BOUNDS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final long start = System.nanoTime();
+    private final Map<Endpoint, Recorded> endpoints = new EnumMap<>(Endpoint.class);
+    private final Map<String, LongAdder> siteFailures = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to create an empty instance.
+     */
+    public InMemoryMetrics(){
+        for(Endpoint endpoint : Endpoint.values())
+            endpoints.put(endpoint, new Recorded());
+    }
+
+    @Override
+    public void recordRequest(@NotNull Endpoint endpoint, long durationNanos, boolean success){
+        Recorded recorded = endpoints.get(endpoint);
+        recorded.requests.increment();
+        if(!success)
+            recorded.failures.increment();
+
+        recorded.totalNanos.add(durationNanos);
+        recorded.maxNanos.accumulate(durationNanos);
+        recorded.buckets[bucketOf(durationNanos)].increment();
+    }
+
+    @Override
+    public void recordRatelimit(@NotNull Endpoint endpoint, int retryAfter){
+        Recorded recorded = endpoints.get(endpoint);
+        recorded.ratelimits.increment();
+        recorded.retryAfter.add(retryAfter);
+    }
+
+    @Override
+    public void recordSiteFailure(@NotNull String site){
+        LongAdder failures = siteFailures.get(site);
+        if(failures == null)
+            failures = siteFailures.computeIfAbsent(site, key -> new LongAdder());
+
+        failures.increment();
+    }
+
+    /**
+     * Creates a snapshot of the current values.
+     * <br>Requests that complete while the snapshot is created may or may not be part of it.
+     *
+     * @return {@link com.andre601.javabotblockapi.MetricsSnapshot MetricsSnapshot} with the current values.
+     */
+    public MetricsSnapshot snapshot(){
+        long uptime = System.nanoTime() - start;
+
+        Map<Endpoint, MetricsSnapshot.EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        endpoints.forEach((endpoint, recorded) -> {
+            long[] buckets = new long[recorded.buckets.length];
+            for(int i = 0; i < buckets.length; i++)
+                buckets[i] = recorded.buckets[i].sum();
+
+            stats.put(endpoint, new MetricsSnapshot.EndpointStats(
+                    recorded.requests.sum(),
+                    recorded.failures.sum(),
+                    recorded.ratelimits.sum(),
+                    recorded.retryAfter.sum(),
+                    recorded.totalNanos.sum(),
+                    recorded.maxNanos.get(),
+                    buckets,
+                    uptime
+            ));
+        });
+
+        Map<String, Long> failures = new TreeMap<>();
+        siteFailures.forEach((site, count) -> failures.put(site, count.sum()));
+
+        return new MetricsSnapshot(uptime, stats, failures);
+    }
+
+    private static int bucketOf(long durationNanos){
+        long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        for(int i = 0; i < BUCKET_BOUNDS.length; i++)
+            if(millis <= BUCKET_BOUNDS[i])
+                return i;
+
+        return BUCKET_BOUNDS.length;
+    }
+
+    private static final class Recorded{
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder ratelimits = new LongAdder();
+        private final LongAdder retryAfter = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+
+        private Recorded(){
+            for(int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+    }
+}
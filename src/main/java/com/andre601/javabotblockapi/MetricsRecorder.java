@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives measurements of every request that the {@link com.andre601.javabotblockapi.RequestHandler RequestHandler}
+ * makes towards the BotBlock API.
+ *
+ * <p>Methods are called from the threads of the HTTP client, often concurrently, and should therefore return quickly
+ * and never block. Every method does nothing by default, so that implementations only need to override what they
+ * are interested in.
+ *
+ * <p>A recorder can be set through {@link RequestHandler.Builder#setMetricsRecorder(MetricsRecorder)}.
+ * {@link com.andre601.javabotblockapi.InMemoryMetrics InMemoryMetrics} is a ready-to-use implementation.
+ *
+ * @since v2.0.0
+ */
+public interface MetricsRecorder{
+
+    /**
+     * Called once a request completed, successfully or not.
+     *
+     * @param endpoint
+     *        The {@link Endpoint Endpoint} the request was made to.
+     * @param durationNanos
+     *        The time from sending the request until the response was handled, in nanoseconds.
+     * @param success
+     *        Whether the request was successful.
+     */
+    default void recordRequest(@NotNull Endpoint endpoint, long durationNanos, boolean success){}
+
+    /**
+     * Called when a request was ratelimited by the BotBlock API.
+     * <br>The request itself is recorded through {@link #recordRequest(Endpoint, long, boolean) recordRequest} as
+     * a failed request too.
+     *
+     * @param endpoint
+     *        The {@link Endpoint Endpoint} the request was made to.
+     * @param retryAfter
+     *        The delay in seconds that BotBlock returned as {@code retry_after}.
+     */
+    default void recordRatelimit(@NotNull Endpoint endpoint, int retryAfter){}
+
+    /**
+     * Called for every site that is listed in the {@code failure} object of a guild count post.
+     *
+     * @param site
+     *        The name of the site that failed.
+     */
+    default void recordSiteFailure(@NotNull String site){}
+
+    /**
+     * Endpoints of the BotBlock API, and the botlists themselves when posting directly.
+     */
+    enum Endpoint{
+        /**
+         * Posting of the guild counts ({@code /api/count}).
+         */
+        COUNT,
+
+        /**
+         * Information about a bot ({@code /api/bots/:id}).
+         */
+        BOTS,
+
+        /**
+         * The available botlists ({@code /api/lists}).
+         */
+        LISTS,
+
+        /**
+         * Guild counts posted directly to a botlist, bypassing the BotBlock API.
+         *
+         * @see RequestHandler.Builder#enableDirectPosting()
+         */
+        SITE
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the values recorded by {@link com.andre601.javabotblockapi.InMemoryMetrics InMemoryMetrics}.
+ *
+ * @since v2.0.0
+ */
+public final class MetricsSnapshot{
+    private final long uptimeNanos;
+    private final Map<MetricsRecorder.Endpoint, EndpointStats> endpoints;
+    private final Map<String, Long> siteFailures;
+
+    MetricsSnapshot(long uptimeNanos, Map<MetricsRecorder.Endpoint, EndpointStats> endpoints, Map<String, Long> siteFailures){
+        this.uptimeNanos = uptimeNanos;
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+        this.siteFailures = Collections.unmodifiableMap(siteFailures);
+    }
+
+    /**
+     * Gets the time since the metrics were created.
+     *
+     * @param  unit
+     *         The {@link java.util.concurrent.TimeUnit TimeUnit} the time should be returned in.
+     *
+     * @return The time since the metrics were created.
+     */
+    public long getUptime(@NotNull TimeUnit unit){
+        return unit.convert(uptimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the stats of a single endpoint.
+     *
+     * @param  endpoint
+     *         The {@link com.andre601.javabotblockapi.MetricsRecorder.Endpoint Endpoint} to get the stats from.
+     *
+     * @return The {@link EndpointStats EndpointStats} of the endpoint.
+     */
+    public EndpointStats getStats(@NotNull MetricsRecorder.Endpoint endpoint){
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Gets how often each site was listed as failed when posting guild counts.
+     *
+     * @return Unmodifiable Map with the names of the sites and how often they failed, sorted by name.
+     */
+    public Map<String, Long> getSiteFailures(){
+        return siteFailures;
+    }
+
+    /**
+     * Stats of a single endpoint of the BotBlock API.
+     */
+    public static final class EndpointStats{
+        private final long requests;
+        private final long failures;
+        private final long ratelimits;
+        private final long retryAfter;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+        private final long uptimeNanos;
+
+        EndpointStats(long requests, long failures, long ratelimits, long retryAfter, long totalNanos, long maxNanos,
+                      long[] buckets, long uptimeNanos){
+            this.requests = requests;
+            this.failures = failures;
+            this.ratelimits = ratelimits;
+            this.retryAfter = retryAfter;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+            this.uptimeNanos = uptimeNanos;
+        }
+
+        /**
+         * Gets the amount of completed requests, including failed ones.
+         *
+         * @return The amount of completed requests.
+         */
+        public long getRequests(){
+            return requests;
+        }
+
+        /**
+         * Gets the amount of failed requests, including ratelimited ones.
+         *
+         * @return The amount of failed requests.
+         */
+        public long getFailures(){
+            return failures;
+        }
+
+        /**
+         * Gets the amount of ratelimited requests.
+         *
+         * @return The amount of ratelimited requests.
+         */
+        public long getRatelimits(){
+            return ratelimits;
+        }
+
+        /**
+         * Gets the sum of all {@code retry_after} delays that were returned on ratelimited requests.
+         *
+         * @return The sum of all delays in seconds.
+         */
+        public long getTotalRetryAfter(){
+            return retryAfter;
+        }
+
+        /**
+         * Gets the average amount of requests per second since the metrics were created.
+         *
+         * @return The average amount of requests per second.
+         */
+        public double getThroughput(){
+            return uptimeNanos <= 0 ? 0 : requests / (uptimeNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * Gets the average time a request took.
+         *
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} the time should be returned in.
+         *
+         * @return The average time a request took, or 0 if no request was made.
+         */
+        public long getMeanLatency(@NotNull TimeUnit unit){
+            return requests == 0 ? 0 : unit.convert(totalNanos / requests, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Gets the longest time a request took.
+         *
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} the time should be returned in.
+         *
+         * @return The longest time a request took, or 0 if no request was made.
+         */
+        public long getMaxLatency(@NotNull TimeUnit unit){
+            return unit.convert(maxNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Gets an estimate of the latency that the provided percentage of requests didn't exceed.
+         * <br>The value is the upper bound of the histogram bucket the percentile falls into. Requests slower than
+         * the biggest bucket are reported with the {@link #getMaxLatency(TimeUnit) max latency}.
+         *
+         * @param  percentile
+         *         The percentile between 0 and 100, f.e. 99 for the 99th percentile.
+         *
+         * @throws IllegalArgumentException
+         *         When the percentile isn't between 0 and 100.
+         *
+         * @return The estimated latency in milliseconds, or 0 if no request was made.
+         */
+        public long getLatencyPercentile(double percentile){
+            if(percentile < 0 || percentile > 100)
+                throw new IllegalArgumentException("Percentile needs to be between 0 and 100.");
+
+            long total = 0;
+            for(long bucket : buckets)
+                total += bucket;
+
+            if(total == 0)
+                return 0;
+
+            long rank = (long)Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for(int i = 0; i < InMemoryMetrics.BUCKET_BOUNDS.length; i++){
+                seen += buckets[i];
+                if(seen >= rank && seen > 0)
+                    return InMemoryMetrics.BUCKET_BOUNDS[i];
+            }
+
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+    }
+}
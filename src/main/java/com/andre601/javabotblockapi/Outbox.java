@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Append-only file that remembers the newest guild counts of every bot that weren't posted yet.
+ *
+ * <p>Every post is appended to the file as a single line before it is send. A post replaces the pending counts of
+ * the same bot, or of the same shard if it only contains a single shard. Once a post was delivered, the file is
+ * rewritten with only the posts that are still pending. After a restart, the pending counts can be posted right
+ * away instead of waiting for the first interval.
+ *
+ * <p>A post only counts as delivered once every site accepted it. Posts that some sites rejected stay pending until
+ * they are replaced by a newer post. The file is also rewritten once it contains too many replaced posts, so that it
+ * doesn't grow while a site keeps failing.
+ *
+ * <p>Writing to the file blocks until the data is on disk, so it should never be done on the thread of a caller.
+ *
+ * <p>Only the counts are written. Tokens are never stored and need to be provided again when flushing.
+ */
+final class Outbox{
+    static final int MAX_STALE_LINES = 64;
+
+    private final Path file;
+
+    private final Map<String, CountPayload> pending = new LinkedHashMap<>();
+    // Lines of the file that belong to replaced posts.
+    private int staleLines = 0;
+
+    Outbox(File file){
+        this.file = file.toPath();
+    }
+
+    /**
+     * Loads the pending counts from the file. For every bot, the last line wins. A broken last line, left behind by
+     * a crash while writing, is ignored.
+     */
+    synchronized void load() throws IOException{
+        if(!Files.exists(file))
+            return;
+
+        int lines = 0;
+        try(BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(line.isEmpty())
+                    continue;
+
+                lines++;
+                try{
+                    CountPayload payload = CountPayload.fromCountJson(new JSONObject(line), AuthTokens.EMPTY);
+                    pending.put(payload.getCountKey(), payload);
+                }catch(JSONException ex){
+                    // Broken line, most likely from a write that didn't finish.
+                }
+            }
+        }
+
+        staleLines = lines - pending.size();
+    }
+
+    synchronized void record(CountPayload payload) throws IOException{
+        if(pending.put(payload.getCountKey(), payload) != null && ++staleLines >= MAX_STALE_LINES){
+            compact();
+            return;
+        }
+
+        byte[] line = (payload.toCountJsonString() + '\n').getBytes(StandardCharsets.UTF_8);
+        write(file, line, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Removes the delivered counts from the pending posts, unless newer counts were recorded in the meantime, and
+     * compacts the file.
+     */
+    synchronized void complete(CountPayload payload) throws IOException{
+        CountPayload current = pending.get(payload.getCountKey());
+        if(current == null || !current.hasSameCounts(payload))
+            return;
+
+        pending.remove(payload.getCountKey());
+        compact();
+    }
+
+    /**
+     * Gets the pending counts of the provided bot, without any tokens. Shards that posted on their own have their own
+     * pending counts.
+     */
+    synchronized List<CountPayload> getPending(String botId){
+        List<CountPayload> payloads = new ArrayList<>();
+        for(CountPayload payload : pending.values())
+            if(payload.getBotId().equals(botId))
+                payloads.add(payload);
+
+        return payloads;
+    }
+
+    synchronized Set<String> getPendingBotIds(){
+        Set<String> botIds = new HashSet<>();
+        for(CountPayload payload : pending.values())
+            botIds.add(payload.getBotId());
+
+        return botIds;
+    }
+
+    private void compact() throws IOException{
+        staleLines = 0;
+        if(pending.isEmpty()){
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for(CountPayload payload : pending.values())
+            builder.append(payload.toCountJsonString()).append('\n');
+
+        // Write to a temporary file first, so that a crash never loses the pending counts.
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try{
+            // The data has to be on disk before the rename, or a crash could leave an empty file behind.
+            write(temp, builder.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void write(Path path, byte[] data, StandardOpenOption... options) throws IOException{
+        try(FileChannel channel = FileChannel.open(path, options)){
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while(buffer.hasRemaining())
+                channel.write(buffer);
+
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of posting guild counts to the BotBlock API.
+ * <br>BotBlock forwards the guild counts to every site and reports for each of them whether the post succeeded.
+ * A failing site doesn't fail the whole post. Instead can the failed sites be found through
+ * {@link #getFailedSites() getFailedSites()}.
+ *
+ * <p>The results of the single sites are only decoded once they are requested.
+ *
+ * <p>Example of posting again to only the failed sites:
+ * <br><pre><code>
+ * PostResult result = handler.postGuilds(jda, api);
+ * if(!result.isSuccessful())
+ *     handler.postGuilds(jda, api.withSites(result.getFailedSites()));
+ * </code></pre>
+ *
+ * @since v2.0.0
+ */
+public final class PostResult{
+    private final JSONObject success;
+    private final JSONObject failure;
+    private final boolean superseded;
+
+    private volatile Map<String, SiteResult> sites = null;
+
+    PostResult(@NotNull JSONObject json){
+        JSONObject success = json.optJSONObject("success");
+        JSONObject failure = json.optJSONObject("failure");
+
+        this.success = success == null ? new JSONObject() : success;
+        this.failure = failure == null ? new JSONObject() : failure;
+        this.superseded = false;
+    }
+
+    private PostResult(PostResult result){
+        this.success = result.success;
+        this.failure = result.failure;
+        this.superseded = true;
+    }
+
+    /*
+     * Creates the result for a post whose counts were replaced by a newer post before they were send.
+     */
+    PostResult asSuperseded(){
+        return new PostResult(this);
+    }
+
+    /**
+     * Returns if the guild counts were posted to every site.
+     *
+     * @return True if no site failed, otherwise false.
+     */
+    public boolean isSuccessful(){
+        return failure.length() == 0;
+    }
+
+    /**
+     * Returns if the guild counts of this post were never send, because a newer post replaced them while the
+     * ratelimit queue held them back.
+     * <br>The sites of a superseded result are the ones of the newer post.
+     *
+     * @return True if the counts were replaced by newer ones, otherwise false.
+     */
+    public boolean isSuperseded(){
+        return superseded;
+    }
+
+    /**
+     * Gets the names of all sites the guild counts were posted to.
+     *
+     * @return Unmodifiable Set with the names of the successful sites.
+     */
+    public Set<String> getSucceededSites(){
+        return Collections.unmodifiableSet(success.keySet());
+    }
+
+    /**
+     * Gets the names of all sites the guild counts couldn't be posted to.
+     *
+     * @return Unmodifiable Set with the names of the failed sites.
+     */
+    public Set<String> getFailedSites(){
+        return Collections.unmodifiableSet(failure.keySet());
+    }
+
+    /**
+     * Gets the result of a single site.
+     *
+     * @param  site
+     *         The name of the site.
+     *
+     * @return The {@link SiteResult SiteResult} of the site, or null if BotBlock didn't report the site.
+     */
+    @Nullable
+    public SiteResult getSite(@NotNull String site){
+        return getSites().get(site);
+    }
+
+    /**
+     * Gets the results of all sites, successful and failed ones.
+     *
+     * @return Unmodifiable Map with the names of the sites and their {@link SiteResult SiteResult}.
+     */
+    public Map<String, SiteResult> getSites(){
+        Map<String, SiteResult> current = sites;
+        if(current != null)
+            return current;
+
+        Map<String, SiteResult> decoded = new LinkedHashMap<>();
+        for(String site : success.keySet())
+            decoded.put(site, new SiteResult(site, true, success.opt(site)));
+        for(String site : failure.keySet())
+            decoded.put(site, new SiteResult(site, false, failure.opt(site)));
+
+        // Decoding twice on concurrent calls is harmless, as both results are equal.
+        current = Collections.unmodifiableMap(decoded);
+        sites = current;
+
+        return current;
+    }
+
+    @Override
+    public String toString(){
+        return String.format(
+                "PostResult{succeeded=%s, failed=%s, superseded=%b}",
+                success.keySet(),
+                failure.keySet(),
+                superseded
+        );
+    }
+
+    /**
+     * Result of posting the guild counts to a single site.
+     */
+    public static final class SiteResult{
+        private final String name;
+        private final boolean success;
+        private final Object raw;
+
+        private SiteResult(String name, boolean success, Object raw){
+            this.name = name;
+            this.success = success;
+            this.raw = raw;
+        }
+
+        /**
+         * Gets the name of the site.
+         *
+         * @return The name of the site.
+         */
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * Returns if the guild counts were posted to the site.
+         *
+         * @return True if the post was successful, otherwise false.
+         */
+        public boolean isSuccess(){
+            return success;
+        }
+
+        /**
+         * Gets the HTTP status code the site responded with.
+         *
+         * @return The HTTP status code, or -1 if BotBlock didn't provide one.
+         */
+        public int getCode(){
+            return raw instanceof JSONArray ? ((JSONArray)raw).optInt(0, -1) : -1;
+        }
+
+        /**
+         * Gets the response or error message of the site.
+         *
+         * @return The message of the site. Might be empty.
+         */
+        public String getMessage(){
+            if(raw instanceof JSONArray)
+                return ((JSONArray)raw).optString(1, "");
+
+            return raw == null ? "" : raw.toString();
+        }
+
+        @Override
+        public String toString(){
+            return String.format(
+                    "SiteResult{name=%s, success=%b, code=%d, message=%s}",
+                    name,
+                    success,
+                    getCode(),
+                    getMessage()
+            );
+        }
+    }
+}
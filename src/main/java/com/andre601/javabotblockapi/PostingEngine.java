@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Class to post the guild counts of many bots from a single application.
+ *
+ * <p>All bots are posted through one {@link com.andre601.javabotblockapi.RequestHandler RequestHandler}, meaning
+ * they share its HTTP client and its scheduler. Registering more bots therefore doesn't create any additional
+ * connection pools or threads.
+ *
+ * <p>Example:
+ * <br><pre><code>
+ * PostingEngine engine = new PostingEngine(new RequestHandler());
+ *
+ * engine.register(jda, api)
+ *       .register("123456789012345678", otherApi, () {@literal ->} otherBot.getGuildCount());
+ * </code></pre>
+ *
+ * @since v2.0.0
+ */
+public class PostingEngine{
+    private final RequestHandler handler;
+    private final boolean ownsHandler;
+    // Keyed by bot ID, or by bot ID and shard ID for the shards of a bot that are registered on their own.
+    private final Map<String, ScheduledFuture<?>> tasks = new ConcurrentHashMap<>();
+    private final Map<String, BotBlockAPI> apis = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to create an engine with a default {@link com.andre601.javabotblockapi.RequestHandler RequestHandler}.
+     * <br>The RequestHandler is shut down together with the engine through {@link #shutdown()}.
+     */
+    public PostingEngine(){
+        this(new RequestHandler(), true);
+    }
+
+    /**
+     * Constructor to create an engine that posts through the provided RequestHandler.
+     * <br>Options of the RequestHandler, like the ratelimit queue, apply to every registered bot.
+     *
+     * @param handler
+     *        The {@link com.andre601.javabotblockapi.RequestHandler RequestHandler} to use. May not be null.
+     */
+    public PostingEngine(@NotNull RequestHandler handler){
+        this(handler, false);
+    }
+
+    private PostingEngine(RequestHandler handler, boolean ownsHandler){
+        Check.notNull(handler, "RequestHandler may not be null.");
+
+        this.handler = handler;
+        this.ownsHandler = ownsHandler;
+    }
+
+    /**
+     * Registers a bot whose guild count is provided by the given {@link java.util.function.IntSupplier IntSupplier}.
+     * <br>The guild count is posted every X minutes, based on the update interval of the BotBlockAPI.
+     * A bot that was already registered is replaced.
+     *
+     * @param  botId
+     *         The ID of the bot. May not be empty.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     * @param  guilds
+     *         Supplier of the current guild count. It is called on every post.
+     *
+     * @return The PostingEngine after the bot was registered. Useful for chaining.
+     */
+    public PostingEngine register(@NotNull String botId, @NotNull BotBlockAPI botBlockAPI, @NotNull IntSupplier guilds){
+        Check.notEmpty(botId, "ID may not be empty.");
+        Check.notNull(guilds, "Guild supplier may not be null.");
+
+        return register(botId, botId, () -> CountPayload.of(botId, guilds.getAsInt(), botBlockAPI.getAuthTokens()), botBlockAPI);
+    }
+
+    /**
+     * Registers the bot of the provided {@link net.dv8tion.jda.api.JDA JDA}.
+     * <br>The guild count is posted every X minutes, based on the update interval of the BotBlockAPI.
+     * Every shard of a sharded bot is registered on its own, so only a shard that was already registered is replaced.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return The PostingEngine after the bot was registered. Useful for chaining.
+     */
+    public PostingEngine register(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI){
+        String botId = jda.getSelfUser().getId();
+        JDA.ShardInfo shardInfo = jda.getShardInfo();
+
+        // Same key as the one of the payload, so that shards don't replace each other.
+        String key = shardInfo == null || shardInfo.getShardTotal() <= 1 ? botId : botId + ':' + shardInfo.getShardId();
+
+        return register(botId, key, () -> CountPayload.of(jda, botBlockAPI), botBlockAPI);
+    }
+
+    /**
+     * Registers the bot of the provided {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager}.
+     * <br>The guild count is posted every X minutes, based on the update interval of the BotBlockAPI.
+     * A bot that was already registered is replaced.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @throws NullPointerException
+     *         When the ShardManager gives an invalid shard (Shard id 0 is null).
+     *
+     * @return The PostingEngine after the bot was registered. Useful for chaining.
+     */
+    public PostingEngine register(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI){
+        JDA shard = shardManager.getShardById(0);
+        Check.notNull(shard, "Received invalid shard.");
+
+        String botId = shard.getSelfUser().getId();
+        return register(botId, botId, () -> CountPayload.of(shardManager, botBlockAPI), botBlockAPI);
+    }
+
+    /**
+     * Stops posting the guild count of the provided bot, including all of its shards.
+     *
+     * @param botId
+     *        The ID of the bot.
+     */
+    public void unregister(@NotNull String botId){
+        apis.remove(botId);
+
+        tasks.entrySet().removeIf(entry -> {
+            if(!entry.getKey().equals(botId) && !entry.getKey().startsWith(botId + ':'))
+                return false;
+
+            entry.getValue().cancel(false);
+            return true;
+        });
+    }
+
+    /**
+     * Gets the IDs of all registered bots.
+     *
+     * @return Unmodifiable Set with the IDs of all registered bots.
+     */
+    public Set<String> getBotIds(){
+        return Collections.unmodifiableSet(apis.keySet());
+    }
+
+    /**
+     * Posts the guild counts of multiple registered bots at once.
+     * <br>All posts are made in parallel without blocking the current thread. Every bot is posted with the tokens of
+     * the {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI} it was registered with.
+     *
+     * <p>The future of a bot that isn't registered completes exceptionally with an
+     * {@link java.lang.IllegalArgumentException IllegalArgumentException}, just like the future of a bot whose guild
+     * count is null. The other bots are posted anyway.
+     *
+     * @param  guilds
+     *         Map of bot IDs and their guild counts. May not be null.
+     *
+     * @return Map of bot IDs and a {@link java.util.concurrent.CompletableFuture CompletableFuture} that completes
+     *         with the {@link com.andre601.javabotblockapi.PostResult PostResult} of that bot.
+     */
+    public Map<String, CompletableFuture<PostResult>> postGuilds(@NotNull Map<String, Integer> guilds){
+        Check.notNull(guilds, "Guilds may not be null.");
+
+        Map<String, CompletableFuture<PostResult>> results = new HashMap<>();
+        guilds.forEach((botId, count) -> {
+            BotBlockAPI botBlockAPI = apis.get(botId);
+            if(botBlockAPI == null){
+                results.put(botId, failed(new IllegalArgumentException("Bot " + botId + " isn't registered.")));
+            }else if(count == null){
+                results.put(botId, failed(new IllegalArgumentException("Guild count of bot " + botId + " may not be null.")));
+            }else{
+                results.put(botId, handler.postRequest(CountPayload.of(botId, count, botBlockAPI.getAuthTokens())));
+            }
+        });
+
+        return results;
+    }
+
+    /**
+     * Unregisters all bots.
+     * <br>The RequestHandler itself isn't shut down. Use {@link #shutdown()} for that.
+     */
+    public void stop(){
+        apis.keySet().forEach(this::unregister);
+    }
+
+    /**
+     * Unregisters all bots and shuts down the RequestHandler, if it was created by this engine.
+     * <br>A RequestHandler that was provided to the engine isn't shut down, as it may still be used elsewhere.
+     */
+    public void shutdown(){
+        stop();
+
+        if(ownsHandler)
+            handler.shutdown();
+    }
+
+    private PostingEngine register(String botId, String key, Supplier<CountPayload> payloadSupplier,
+                                   BotBlockAPI botBlockAPI){
+        Check.notNull(botBlockAPI, "BotBlockAPI may not be null.");
+
+        apis.put(botId, botBlockAPI);
+        handler.flushOnStart(botId, botBlockAPI);
+
+        ScheduledFuture<?> task = handler.scheduleAutoPosting(payloadSupplier, botBlockAPI.getUpdateInterval(), TimeUnit.MINUTES);
+        ScheduledFuture<?> previous = tasks.put(key, task);
+        if(previous != null)
+            previous.cancel(false);
+
+        return this;
+    }
+
+    private static CompletableFuture<PostResult> failed(Throwable throwable){
+        CompletableFuture<PostResult> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+
+        return future;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Defers posts that would hit a ratelimit instead of failing them.
+ *
+ * <p>Once a post gets ratelimited, the route that BotBlock reported ({@code ratelimit_route}) is blocked for the
+ * bot until {@code retry_after} passed. Posts made while the route is blocked are not send. Instead only the newest
+ * one is kept and send once the route is open again. The future of that post completes with its result, while the
+ * futures of the posts it replaced complete with a {@link PostResult#isSuperseded() superseded} copy of it.
+ *
+ * <p>Buckets of a route are removed again once they are neither blocked nor have any post waiting or running.
+ */
+final class RatelimitQueue{
+    private final ScheduledExecutorService scheduler;
+    private final Function<CountPayload, CompletableFuture<PostResult>> sender;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    // Maps the route a post was submitted for to the route BotBlock reported in its last ratelimit.
+    private final Map<String, String> routes = new ConcurrentHashMap<>();
+    private final AtomicLong sequences = new AtomicLong();
+
+    RatelimitQueue(ScheduledExecutorService scheduler, Function<CountPayload, CompletableFuture<PostResult>> sender){
+        this.scheduler = scheduler;
+        this.sender = sender;
+    }
+
+    CompletableFuture<PostResult> submit(String endpoint, CountPayload payload){
+        CompletableFuture<PostResult> future = new CompletableFuture<>();
+        long sequence = sequences.getAndIncrement();
+        String key = key(routes.getOrDefault(endpoint, endpoint), payload.getBotId());
+
+        Bucket bucket;
+        while(true){
+            bucket = buckets.computeIfAbsent(key, Bucket::new);
+            synchronized(bucket){
+                // The bucket was removed between the lookup and the lock.
+                if(bucket.removed)
+                    continue;
+
+                if(bucket.isBlocked()){
+                    bucket.defer(payload, sequence, Collections.singletonList(new Waiter(future, sequence)));
+                    return future;
+                }
+
+                bucket.running++;
+            }
+            break;
+        }
+
+        send(endpoint, bucket, payload, sequence, Collections.singletonList(new Waiter(future, sequence)));
+        return future;
+    }
+
+    private void send(String endpoint, Bucket bucket, CountPayload payload, long sequence, List<Waiter> waiting){
+        sender.apply(payload).whenComplete((result, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+
+            if(cause instanceof RatelimitedException){
+                RatelimitedException ratelimit = (RatelimitedException)cause;
+                boolean otherRoute = ratelimit.getRoute() != null && !ratelimit.getRoute().equals(bucket.route);
+                if(otherRoute)
+                    routes.put(endpoint, ratelimit.getRoute());
+
+                while(true){
+                    // Our own bucket can't be removed while this post is running, but the one of another route can.
+                    Bucket target = otherRoute
+                            ? buckets.computeIfAbsent(key(ratelimit.getRoute(), payload.getBotId()), Bucket::new)
+                            : bucket;
+                    synchronized(target){
+                        if(target.removed)
+                            continue;
+
+                        target.blockedUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(ratelimit.getDelay());
+                        target.defer(payload, sequence, waiting);
+
+                        if(!target.replayScheduled){
+                            target.replayScheduled = true;
+                            scheduler.schedule(() -> replay(endpoint, target), ratelimit.getDelay(), TimeUnit.SECONDS);
+                        }
+                    }
+                    break;
+                }
+
+                finish(bucket);
+                return;
+            }
+
+            for(Waiter waiter : waiting){
+                if(cause != null)
+                    waiter.future.completeExceptionally(cause);
+                else if(waiter.sequence == sequence)
+                    waiter.future.complete(result);
+                else
+                    waiter.future.complete(result.asSuperseded());
+            }
+
+            finish(bucket);
+        });
+    }
+
+    private void replay(String endpoint, Bucket bucket){
+        CountPayload payload;
+        long sequence;
+        List<Waiter> waiting;
+        synchronized(bucket){
+            bucket.replayScheduled = false;
+
+            payload = bucket.pending;
+            sequence = bucket.pendingSequence;
+            waiting = bucket.waiting;
+
+            bucket.pending = null;
+            bucket.pendingSequence = -1;
+            bucket.waiting = new ArrayList<>();
+
+            if(payload == null){
+                removeIfIdle(bucket);
+                return;
+            }
+
+            bucket.running++;
+        }
+
+        send(endpoint, bucket, payload, sequence, waiting);
+    }
+
+    private void finish(Bucket bucket){
+        synchronized(bucket){
+            bucket.running--;
+            removeIfIdle(bucket);
+        }
+    }
+
+    // Needs to hold the lock of the bucket.
+    private void removeIfIdle(Bucket bucket){
+        if(bucket.running > 0 || bucket.replayScheduled || bucket.pending != null || bucket.isBlocked())
+            return;
+
+        bucket.removed = true;
+        buckets.remove(bucket.key, bucket);
+    }
+
+    private static String key(String route, String botId){
+        return route + ':' + botId;
+    }
+
+    private static final class Waiter{
+        private final CompletableFuture<PostResult> future;
+        private final long sequence;
+
+        private Waiter(CompletableFuture<PostResult> future, long sequence){
+            this.future = future;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class Bucket{
+        private final String key;
+        private final String route;
+
+        private long blockedUntil = System.nanoTime();
+        private boolean replayScheduled = false;
+        private boolean removed = false;
+        private int running = 0;
+
+        private CountPayload pending = null;
+        private long pendingSequence = -1;
+        private List<Waiter> waiting = new ArrayList<>();
+
+        private Bucket(String key){
+            this.key = key;
+            this.route = key.substring(0, key.lastIndexOf(':'));
+        }
+
+        private boolean isBlocked(){
+            return System.nanoTime() - blockedUntil < 0;
+        }
+
+        /*
+         * Keeps the payload only if it is newer than the one already pending. The futures are kept either way, since
+         * they get completed by whatever payload is send next.
+         */
+        private void defer(CountPayload payload, long sequence, List<Waiter> waiters){
+            if(sequence > pendingSequence){
+                pending = payload;
+                pendingSequence = sequence;
+            }
+
+            waiting.addAll(waiters);
+        }
+    }
+}
@@ -23,15 +23,17 @@ import net.dv8tion.jda.api.sharding.ShardManager;
 import net.dv8tion.jda.api.JDA;
 import okhttp3.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.json.JSONArray;
-import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Class to handle post-requests to the <a href="https://botblock.org" target="_blank">BotBlock API</a>.
@@ -45,21 +47,114 @@ import java.util.concurrent.TimeUnit;
  *     <li>{@link #getBotInfo(ShardManager, String) Getting a single list a bot is on}.</li>
  *     <li>{@link #getOwners(ShardManager) Getting the owners of a bot.}</li>
  * </ul>
+ *
+ * <p>Every method also has an {@code Async} counterpart (f.e. {@link #getAllAsync(String) getAllAsync(String)}) which
+ * returns a {@link java.util.concurrent.CompletableFuture CompletableFuture} instead of blocking the current thread.
  */
 public class RequestHandler {
-    private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    private final OkHttpClient CLIENT = new OkHttpClient();
-
-    private final String BASE_URL = "https://botblock.org/api/";
-
-    private String id = null;
-
-    private JSONObject json = new JSONObject();
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final ExecutorService virtualExecutor;
+    private final boolean ownsDispatcher;
+    private final boolean ownsConnectionPool;
+    private final OkHttpClient CLIENT;
+
+    private final String BASE_URL;
+
+    private static final long DEFAULT_DEBOUNCE = 10;
+
+    private final List<ScheduledFuture<?>> autoPostTasks = new CopyOnWriteArrayList<>();
+    private final Map<EventPostingListener, Runnable> eventListeners = new ConcurrentHashMap<>();
+    private final Map<String, BotInfoPoller> watchers = new HashMap<>();
+    private final SingleFlight flights = new SingleFlight();
+
+    private final ResponseCache cache;
+    private final BotlistCatalog catalog;
+    private final RatelimitQueue ratelimitQueue;
+    private final DeltaTracker deltaTracker;
+    private final DirectPoster directPoster;
+    private final Outbox outbox;
+    private final long shardJitter;
+    private final int bulkConcurrency;
+    private final long bulkSpacing;
+
+    private final long maxResponseSize;
+    private final MetricsRecorder metrics;
+    private final RetryPolicy retryPolicy;
+    private final Map<MetricsRecorder.Endpoint, CircuitBreaker> circuitBreakers;
 
     /**
      * Empty constructor to get the class.
+     * <br>The RequestHandler keeps no state between requests, meaning that a single instance can be shared
+     * between multiple threads and shards.
+     *
+     * <p>Use the {@link com.andre601.javabotblockapi.RequestHandler.Builder Builder} to enable optional features
+     * like the response cache.
      */
-    public RequestHandler(){}
+    public RequestHandler(){
+        this(new Builder());
+    }
+
+    private RequestHandler(Builder builder){
+        this.ownsScheduler = builder.scheduler == null;
+        this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor() : builder.scheduler;
+        this.virtualExecutor = builder.virtualThreads ? VirtualThreads.newExecutor() : null;
+        this.ownsDispatcher = builder.createsDispatcher(virtualExecutor);
+        this.ownsConnectionPool = builder.createsConnectionPool();
+        this.CLIENT = builder.buildClient(virtualExecutor);
+        this.BASE_URL = builder.baseUrl;
+
+        this.cache = builder.cacheTtl > 0 ? new ResponseCache(builder.cacheTtl, builder.cacheSize) : null;
+        this.ratelimitQueue = builder.ratelimitQueue ? new RatelimitQueue(scheduler, this::sendPost) : null;
+        this.deltaTracker = builder.heartbeat > 0 ? new DeltaTracker(builder.heartbeat) : null;
+        this.maxResponseSize = builder.maxResponseSize;
+        this.metrics = builder.metrics;
+        this.retryPolicy = builder.retryPolicy;
+        this.shardJitter = builder.shardJitter;
+        this.bulkConcurrency = builder.bulkConcurrency;
+        this.bulkSpacing = builder.bulkSpacing;
+
+        if(builder.failureThreshold > 0){
+            this.circuitBreakers = new EnumMap<>(MetricsRecorder.Endpoint.class);
+            for(MetricsRecorder.Endpoint endpoint : MetricsRecorder.Endpoint.values())
+                circuitBreakers.put(endpoint, new CircuitBreaker(builder.failureThreshold, builder.openDuration));
+        }else{
+            this.circuitBreakers = null;
+        }
+        this.directPoster = builder.directPosting ? new DirectPoster(CLIENT, this::getSitesAsync, metrics) : null;
+
+        if(builder.outboxFile != null){
+            this.outbox = new Outbox(builder.outboxFile);
+            try{
+                outbox.load();
+            }catch(IOException ex){
+                ex.printStackTrace();
+            }
+        }else{
+            this.outbox = null;
+        }
+
+        // Direct posting needs the botlists on every post, so they are kept in a catalog even if none was enabled.
+        long catalogRefresh = builder.catalogRefresh > 0 || !builder.directPosting
+                ? builder.catalogRefresh
+                : TimeUnit.DAYS.toNanos(1);
+
+        if(catalogRefresh > 0){
+            this.catalog = new BotlistCatalog(builder.catalogFile);
+            try{
+                catalog.load();
+            }catch(IOException ex){
+                ex.printStackTrace();
+            }
+
+            scheduler.scheduleWithFixedDelay(() -> refreshBotlists().whenComplete((json, ex) -> {
+                if(ex != null)
+                    ex.printStackTrace();
+            }), 0, catalogRefresh, TimeUnit.NANOSECONDS);
+        }else{
+            this.catalog = null;
+        }
+    }
 
     /**
      * Posts guilds from the provided {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager}.
@@ -69,6 +164,8 @@ public class RequestHandler {
      * @param  botBlockAPI
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      *
+     * @return The {@link com.andre601.javabotblockapi.PostResult PostResult} with the result of every site.
+     *
      * @throws IOException
      *         When the post request couldn't be performed properly.
      * @throws RatelimitedException
@@ -76,23 +173,29 @@ public class RequestHandler {
      * @throws NullPointerException
      *         When the ShardManager gives an invalid shard (Shard id 0 is null).
      */
-    public void postGuilds(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
-        this.id = Objects.requireNonNull(shardManager.getShardById(0), "Received invalid shard.")
-                .getSelfUser().getId();
-
-        json.put("server_count", shardManager.getGuilds().size())
-                .put("bot_id", id)
-                .put("shard_count", shardManager.getShards().size());
-
-        List<Integer> shards = new ArrayList<>();
-        for(JDA jda : shardManager.getShards())
-            shards.add(jda.getGuilds().size());
-
-        json.put("shards", new JSONArray(Arrays.deepToString(shards.toArray())));
-
-        botBlockAPI.getAuthTokens().forEach(json::put);
+    public PostResult postGuilds(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
+        return await(postGuildsAsync(shardManager, botBlockAPI));
+    }
 
-        postRequest();
+    /**
+     * Posts guilds from the provided {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager}.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails. Sites that failed don't fail the future, but are listed in the PostResult.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return CompletableFuture that completes with the {@link com.andre601.javabotblockapi.PostResult PostResult}
+     *         once the guilds were posted.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<PostResult> postGuildsAsync(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI){
+        return postRequest(CountPayload.of(shardManager, botBlockAPI));
     }
 
     /**
@@ -107,24 +210,36 @@ public class RequestHandler {
      * @param  botBlockAPI
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      *
+     * @return The {@link com.andre601.javabotblockapi.PostResult PostResult} with the result of every site.
+     *
      * @throws IOException
      *         When the post request couldn't be performed properly.
      * @throws RatelimitedException
      *         When the Bot (IP or ID) got ratelimited.
      */
-    public void postGuilds(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
-        this.id = jda.getSelfUser().getId();
-
-        json.put("server_count", jda.getGuildCache().size())
-                .put("bot_id", id);
-
-        if(jda.getShardInfo().getShardTotal() > 1)
-            json.put("shard_id", jda.getShardInfo().getShardId())
-                    .put("shard_count", jda.getShardInfo().getShardTotal());
-
-        botBlockAPI.getAuthTokens().forEach(json::put);
+    public PostResult postGuilds(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
+        return await(postGuildsAsync(jda, botBlockAPI));
+    }
 
-        postRequest();
+    /**
+     * Posts the guilds from the provided {@link net.dv8tion.jda.api.JDA JDA}.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails. Sites that failed don't fail the future, but are listed in the PostResult.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return CompletableFuture that completes with the {@link com.andre601.javabotblockapi.PostResult PostResult}
+     *         once the guilds were posted.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<PostResult> postGuildsAsync(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI){
+        return postRequest(CountPayload.of(jda, botBlockAPI));
     }
 
     /**
@@ -137,13 +252,38 @@ public class RequestHandler {
      * @param  botBlockAPI
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      *
+     * @return The {@link com.andre601.javabotblockapi.PostResult PostResult} with the result of every site.
+     *
      * @throws IOException
      *         When the post request couldn't be performed properly.
      * @throws RatelimitedException
      *         When the Bot (IP or ID) got ratelimited.
      */
-    public void postGuilds(Long botId, int guilds, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
-        postGuilds(Long.toString(botId), guilds, botBlockAPI);
+    public PostResult postGuilds(Long botId, int guilds, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
+        return postGuilds(Long.toString(botId), guilds, botBlockAPI);
+    }
+
+    /**
+     * Posts the provided guilds from the provided Bot id.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails. Sites that failed don't fail the future, but are listed in the PostResult.
+     *
+     * @param  botId
+     *         The ID (as long) of the bot.
+     * @param  guilds
+     *         The guilds the bot is in.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return CompletableFuture that completes with the {@link com.andre601.javabotblockapi.PostResult PostResult}
+     *         once the guilds were posted.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<PostResult> postGuildsAsync(Long botId, int guilds, @NotNull BotBlockAPI botBlockAPI){
+        return postGuildsAsync(Long.toString(botId), guilds, botBlockAPI);
     }
 
     /**
@@ -156,22 +296,40 @@ public class RequestHandler {
      * @param  botBlockAPI
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      *
+     * @return The {@link com.andre601.javabotblockapi.PostResult PostResult} with the result of every site.
+     *
      * @throws IOException
      *         When the post request couldn't be performed properly.
      * @throws RatelimitedException
      *         When the Bot (IP or ID) got ratelimited.
      */
-    public void postGuilds(@NotNull String botId, int guilds, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
-        Check.notEmpty(botId, "ID may not be empty.");
-
-        this.id = botId;
-
-        json.put("server_count", guilds)
-                .put("bot_id", botId);
+    public PostResult postGuilds(@NotNull String botId, int guilds, @NotNull BotBlockAPI botBlockAPI) throws IOException, RatelimitedException{
+        return await(postGuildsAsync(botId, guilds, botBlockAPI));
+    }
 
-        botBlockAPI.getAuthTokens().forEach(json::put);
+    /**
+     * Posts the provided guilds from the provided Bot id.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails. Sites that failed don't fail the future, but are listed in the PostResult.
+     *
+     * @param  botId
+     *         The ID (as String) of the bot.
+     * @param  guilds
+     *         The guilds the bot is in.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return CompletableFuture that completes with the {@link com.andre601.javabotblockapi.PostResult PostResult}
+     *         once the guilds were posted.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<PostResult> postGuildsAsync(@NotNull String botId, int guilds, @NotNull BotBlockAPI botBlockAPI){
+        Check.notEmpty(botId, "ID may not be empty.");
 
-        postRequest();
+        return postRequest(CountPayload.of(botId, guilds, botBlockAPI.getAuthTokens()));
     }
 
     /**
@@ -182,15 +340,16 @@ public class RequestHandler {
      *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
      * @param  botBlockAPI
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @throws NullPointerException
+     *         When the ShardManager gives an invalid shard (Shard id 0 is null).
      */
     public void startAutoPosting(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI){
-        scheduler.scheduleAtFixedRate(() -> {
-            try{
-                postGuilds(shardManager, botBlockAPI);
-            }catch(IOException | RatelimitedException ex){
-                ex.printStackTrace();
-            }
-        }, botBlockAPI.getUpdateInterval(), botBlockAPI.getUpdateInterval(), TimeUnit.MINUTES);
+        JDA shard = shardManager.getShardById(0);
+        Check.notNull(shard, "Received invalid shard.");
+
+        flushOnStart(shard.getSelfUser().getId(), botBlockAPI);
+        scheduleAutoPosting(() -> CountPayload.of(shardManager, botBlockAPI), botBlockAPI, null);
     }
 
     /**
@@ -202,13 +361,8 @@ public class RequestHandler {
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      */
     public void startAutoPosting(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI){
-        scheduler.scheduleAtFixedRate(() -> {
-            try{
-                postGuilds(jda, botBlockAPI);
-            }catch(IOException | RatelimitedException ex){
-                ex.printStackTrace();
-            }
-        }, botBlockAPI.getUpdateInterval(), botBlockAPI.getUpdateInterval(), TimeUnit.MINUTES);
+        flushOnStart(jda.getSelfUser().getId(), botBlockAPI);
+        scheduleAutoPosting(() -> CountPayload.of(jda, botBlockAPI), botBlockAPI, jda.getShardInfo());
     }
 
     /**
@@ -222,13 +376,7 @@ public class RequestHandler {
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      */
     public void startAutoPosting(Long botId, int guilds, @NotNull BotBlockAPI botBlockAPI){
-        scheduler.scheduleAtFixedRate(() -> {
-            try{
-                postGuilds(botId, guilds, botBlockAPI);
-            }catch(IOException | RatelimitedException ex){
-                ex.printStackTrace();
-            }
-        }, botBlockAPI.getUpdateInterval(), botBlockAPI.getUpdateInterval(), TimeUnit.MINUTES);
+        startAutoPosting(Long.toString(botId), guilds, botBlockAPI);
     }
 
     /**
@@ -242,20 +390,307 @@ public class RequestHandler {
      *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
      */
     public void startAutoPosting(@NotNull String botId, int guilds, @NotNull BotBlockAPI botBlockAPI){
-        scheduler.scheduleAtFixedRate(() -> {
+        Check.notEmpty(botId, "ID may not be empty.");
+
+        CountPayload payload = CountPayload.of(botId, guilds, botBlockAPI.getAuthTokens());
+        flushOnStart(botId, botBlockAPI);
+        scheduleAutoPosting(() -> payload, botBlockAPI, null);
+    }
+
+    /**
+     * Posts the guilds from the provided {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager} whenever the
+     * bot joins or leaves a guild, or when a shard is ready.
+     * <br>Events are collected for 10 seconds, so that a burst of events results in a single post. Posts are never
+     * made more often than every 2 minutes, which is the ratelimit of the BotBlock API.
+     *
+     * <p>Unlike {@link #startAutoPosting(ShardManager, BotBlockAPI) startAutoPosting} is nothing posted while the
+     * guild count doesn't change.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @since v2.0.0
+     */
+    public void startEventPosting(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI){
+        startEventPosting(shardManager, botBlockAPI, DEFAULT_DEBOUNCE, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Posts the guilds from the provided {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager} whenever the
+     * bot joins or leaves a guild, or when a shard is ready.
+     * <br>Events are collected for the provided delay, so that a burst of events results in a single post. Posts
+     * are never made more often than every 2 minutes, which is the ratelimit of the BotBlock API.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     * @param  debounce
+     *         The delay between the first event and the post.
+     * @param  unit
+     *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the delay.
+     *
+     * @since v2.0.0
+     */
+    public void startEventPosting(@NotNull ShardManager shardManager, @NotNull BotBlockAPI botBlockAPI,
+                                  long debounce, @NotNull TimeUnit unit){
+        EventPostingListener listener = createEventListener(() -> CountPayload.of(shardManager, botBlockAPI), botBlockAPI,
+                debounce, unit);
+
+        shardManager.addEventListener(listener);
+        eventListeners.put(listener, () -> shardManager.removeEventListener(listener));
+    }
+
+    /**
+     * Posts the guilds from the provided {@link net.dv8tion.jda.api.JDA JDA} whenever the bot joins or leaves a guild,
+     * or when the shard is ready.
+     * <br>Events are collected for 10 seconds, so that a burst of events results in a single post. Posts are never
+     * made more often than every 2 minutes, which is the ratelimit of the BotBlock API.
+     *
+     * <p>Unlike {@link #startAutoPosting(JDA, BotBlockAPI) startAutoPosting} is nothing posted while the guild
+     * count doesn't change.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @since v2.0.0
+     */
+    public void startEventPosting(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI){
+        startEventPosting(jda, botBlockAPI, DEFAULT_DEBOUNCE, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Posts the guilds from the provided {@link net.dv8tion.jda.api.JDA JDA} whenever the bot joins or leaves a guild,
+     * or when the shard is ready.
+     * <br>Events are collected for the provided delay, so that a burst of events results in a single post. Posts
+     * are never made more often than every 2 minutes, which is the ratelimit of the BotBlock API.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     * @param  debounce
+     *         The delay between the first event and the post.
+     * @param  unit
+     *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the delay.
+     *
+     * @since v2.0.0
+     */
+    public void startEventPosting(@NotNull JDA jda, @NotNull BotBlockAPI botBlockAPI, long debounce, @NotNull TimeUnit unit){
+        EventPostingListener listener = createEventListener(() -> CountPayload.of(jda, botBlockAPI), botBlockAPI,
+                debounce, unit);
+
+        jda.addEventListener(listener);
+        eventListeners.put(listener, () -> jda.removeEventListener(listener));
+    }
+
+    private EventPostingListener createEventListener(Supplier<CountPayload> payloadSupplier, BotBlockAPI botBlockAPI,
+                                                     long debounce, TimeUnit unit){
+        Check.notNull(unit, "TimeUnit may not be null.");
+        if(debounce < 0)
+            throw new IllegalArgumentException("Debounce delay may not be less than 0.");
+
+        Runnable flusher = outbox == null ? null : () -> flushOnStart(payloadSupplier.get().getBotId(), botBlockAPI);
+        return new EventPostingListener(scheduler, payloadSupplier, this::postRequest, unit.toNanos(debounce), flusher);
+    }
+
+    /**
+     * Posts the guild counts of the provided bot that are still pending in the outbox.
+     * <br>Pending counts are the ones of posts that weren't accepted by every site before the application stopped.
+     * The outbox only contains the counts, so the tokens of the provided BotBlockAPI are used.
+     *
+     * <p>This is done automatically when starting the auto-posting for a bot.
+     *
+     * @param  botId
+     *         The ID of the bot.
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return CompletableFuture that completes with a {@link com.andre601.javabotblockapi.PostResult PostResult} for
+     *         every pending post once they were posted. Shards that posted on their own have their own pending post.
+     *         The List is empty if there are no pending counts or the outbox wasn't
+     *         {@link Builder#enableOutbox(File) enabled}.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<List<PostResult>> flushOutbox(@NotNull String botId, @NotNull BotBlockAPI botBlockAPI){
+        Check.notEmpty(botId, "ID may not be empty.");
+        Check.notNull(botBlockAPI, "BotBlockAPI may not be null.");
+
+        if(outbox == null)
+            return CompletableFuture.completedFuture(Collections.emptyList());
+
+        List<CompletableFuture<PostResult>> posts = new ArrayList<>();
+        for(CountPayload pending : outbox.getPending(botId))
+            posts.add(postRequest(pending.withAuthTokens(botBlockAPI.getAuthTokens())));
+
+        return CompletableFuture.allOf(posts.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<PostResult> results = new ArrayList<>(posts.size());
+            for(CompletableFuture<PostResult> post : posts)
+                results.add(post.join());
+
+            return results;
+        });
+    }
+
+    /**
+     * Posts the pending guild counts of all bots in the outbox, using the tokens of the provided BotBlockAPI.
+     *
+     * @param  botBlockAPI
+     *         The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     *
+     * @return CompletableFuture that completes once all pending counts were posted.
+     *
+     * @see #flushOutbox(String, BotBlockAPI)
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<Void> flushOutbox(@NotNull BotBlockAPI botBlockAPI){
+        if(outbox == null)
+            return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(outbox.getPendingBotIds().stream()
+                .map(botId -> flushOutbox(botId, botBlockAPI))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    void flushOnStart(String botId, BotBlockAPI botBlockAPI){
+        flushOutbox(botId, botBlockAPI).whenComplete((ignored, ex) -> {
+            if(ex != null)
+                ex.printStackTrace();
+        });
+    }
+
+    private void scheduleAutoPosting(Supplier<CountPayload> payloadSupplier, BotBlockAPI botBlockAPI,
+                                     @Nullable JDA.ShardInfo shardInfo){
+        long interval = TimeUnit.MINUTES.toMillis(botBlockAPI.getUpdateInterval());
+        long initialDelay = interval;
+        if(shardJitter >= 0 && shardInfo != null && shardInfo.getShardTotal() > 1)
+            initialDelay = shardOffset(
+                    shardInfo.getShardId(),
+                    shardInfo.getShardTotal(),
+                    interval,
+                    System.currentTimeMillis(),
+                    shardJitter
+            );
+
+        autoPostTasks.add(scheduleAutoPosting(payloadSupplier, initialDelay, interval, TimeUnit.MILLISECONDS));
+    }
+
+    /*
+     * Gets the delay until the slot of the shard within the interval. Slots are aligned to the wall clock, so that
+     * shards running in separate processes agree on them without talking to each other.
+     */
+    static long shardOffset(int shardId, int shardCount, long interval, long now, long jitter){
+        long slot = interval * shardId / shardCount;
+        long delay = Math.floorMod(slot - now, interval);
+        if(jitter > 0)
+            delay += ThreadLocalRandom.current().nextLong(jitter + 1);
+
+        return delay;
+    }
+
+    /*
+     * Schedules the payload to be posted at a fixed rate, skipping posts that wouldn't change anything if the
+     * delta suppression is enabled. A supplier returning null skips the post.
+     */
+    ScheduledFuture<?> scheduleAutoPosting(Supplier<CountPayload> payloadSupplier, long interval, TimeUnit unit){
+        return scheduleAutoPosting(payloadSupplier, interval, interval, unit);
+    }
+
+    ScheduledFuture<?> scheduleAutoPosting(Supplier<CountPayload> payloadSupplier, long initialDelay, long interval,
+                                           TimeUnit unit){
+        Runnable post = () -> {
+            // Exceptions thrown by the task would cancel any further posts.
             try{
-                postGuilds(botId, guilds, botBlockAPI);
-            }catch(IOException | RatelimitedException ex){
+                CountPayload payload = payloadSupplier.get();
+                if(payload == null || (deltaTracker != null && !deltaTracker.shouldPost(payload)))
+                    return;
+
+                postRequest(payload).whenComplete((ignored, ex) -> {
+                    if(ex != null)
+                        ex.printStackTrace();
+                });
+            }catch(RuntimeException ex){
                 ex.printStackTrace();
             }
-        }, botBlockAPI.getUpdateInterval(), botBlockAPI.getUpdateInterval(), TimeUnit.MINUTES);
+        };
+
+        // With virtual threads, the scheduler only keeps the time and every post runs on its own virtual thread.
+        Runnable task = virtualExecutor == null ? post : () -> {
+            try{
+                virtualExecutor.execute(post);
+            }catch(RejectedExecutionException ignored){
+                // The RequestHandler was shut down.
+            }
+        };
+
+        return scheduler.scheduleAtFixedRate(task, initialDelay, interval, unit);
+    }
+
+    /**
+     * Returns if requests and auto-posts of this RequestHandler run on virtual threads.
+     * <br>This is only the case when {@link Builder#enableVirtualThreads() enabled} and running on Java 21 or newer.
+     *
+     * @return True if virtual threads are used, otherwise false.
+     *
+     * @since v2.0.0
+     */
+    public boolean isUsingVirtualThreads(){
+        return virtualExecutor != null;
     }
 
     /**
-     * Stops the auto-posting by shutting down the scheduler.
+     * Stops the auto-posting by cancelling all scheduled posts.
+     * <br>This also stops any posting started through {@link #startEventPosting(JDA, BotBlockAPI) startEventPosting}.
+     * Auto-posting can be started again afterwards.
      */
     public void stopAutoPosting(){
-        scheduler.shutdown();
+        autoPostTasks.forEach(task -> task.cancel(false));
+        autoPostTasks.clear();
+
+        eventListeners.forEach((listener, unregister) -> {
+            unregister.run();
+            listener.close();
+        });
+        eventListeners.clear();
+    }
+
+    /**
+     * Stops the auto-posting and shuts down the scheduler, which also stops the background refresh of the
+     * {@link #getBotlistCatalog() botlist catalog}.
+     * <br>The RequestHandler can't start auto-posting afterwards.
+     *
+     * <p>The HTTP client is shut down too, closing all idle connections. Requests can't be made afterwards.
+     * All {@link #watchBotInfos(String, long, TimeUnit, BotInfoListener) watches} are cancelled.
+     *
+     * <p>A scheduler provided through {@link Builder#setScheduler(ScheduledExecutorService)} or a client provided
+     * through {@link Builder#setHttpClient(OkHttpClient)} isn't shut down.
+     *
+     * @since v2.0.0
+     */
+    public void shutdown(){
+        stopAutoPosting();
+
+        synchronized(watchers){
+            watchers.values().forEach(BotInfoPoller::close);
+            watchers.clear();
+        }
+        if(ownsScheduler)
+            scheduler.shutdown();
+
+        // Only shut down what was created for this handler. A provided client may still be used elsewhere.
+        if(ownsDispatcher)
+            CLIENT.dispatcher().executorService().shutdown();
+        if(ownsConnectionPool)
+            CLIENT.connectionPool().evictAll();
+
+        if(virtualExecutor != null)
+            virtualExecutor.shutdown();
     }
 
     /**
@@ -278,6 +713,25 @@ public class RequestHandler {
                 .getSelfUser().getId());
     }
 
+    /**
+     * Gets the owners of a bot as a list.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     *
+     * @return CompletableFuture containing the owners as a list.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<List<String>> getOwnersAsync(@NotNull ShardManager shardManager){
+        return getOwnersAsync(Objects.requireNonNull(shardManager.getShardById(0), "Received invalid shard.")
+                .getSelfUser().getId());
+    }
+
 
     /**
      * Gets the owners of a bot as a list.
@@ -298,6 +752,24 @@ public class RequestHandler {
         return getOwners(jda.getSelfUser().getId());
     }
 
+    /**
+     * Gets the owners of a bot as a list.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     *
+     * @return CompletableFuture containing the owners as a list.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<List<String>> getOwnersAsync(@NotNull JDA jda){
+        return getOwnersAsync(jda.getSelfUser().getId());
+    }
+
     /**
      * Gets the owners of a bot as a list.
      *
@@ -317,6 +789,24 @@ public class RequestHandler {
         return getOwners(Long.toString(id));
     }
 
+    /**
+     * Gets the owners of a bot as a list.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return CompletableFuture containing the owners as a list.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<List<String>> getOwnersAsync(Long id){
+        return getOwnersAsync(Long.toString(id));
+    }
+
     /**
      * Gets the owners of a bot as a List.
      *
@@ -333,15 +823,33 @@ public class RequestHandler {
      * @since v2.0.0
      */
     public List<String> getOwners(@NotNull String id) throws IOException, RatelimitedException{
-        JSONObject json = getAll(id);
+        return await(getOwnersAsync(id));
+    }
 
-        JSONArray array = json.getJSONArray("owners");
+    /**
+     * Gets the owners of a bot as a List.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The ID of the bot to get information from.
+     *
+     * @return CompletableFuture containing the owners as a list.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<List<String>> getOwnersAsync(@NotNull String id){
+        return getAllAsync(id).thenApply(json -> {
+            JSONArray array = json.getJSONArray("owners");
 
-        List<String> owners = new ArrayList<>();
-        for(int i = 0; i < array.length(); i++)
-            owners.add(array.getString(i));
+            List<String> owners = new ArrayList<>();
+            for(int i = 0; i < array.length(); i++)
+                owners.add(array.getString(i));
 
-        return owners;
+            return owners;
+        });
     }
 
     /**
@@ -379,6 +887,25 @@ public class RequestHandler {
                 .getSelfUser().getId());
     }
 
+    /**
+     * Gets all the available Botlists as JSONObject.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     *
+     * @return CompletableFuture containing the Botlists as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getBotInfosAsync(@NotNull ShardManager shardManager){
+        return getBotInfosAsync(Objects.requireNonNull(shardManager.getShardById(0), "Received invalid shard.")
+                .getSelfUser().getId());
+    }
+
     /**
      * Gets all the available Botlists as JSONObject.
      * <br>The data of each Botlist depends on the site.
@@ -413,6 +940,24 @@ public class RequestHandler {
         return getBotInfos(jda.getSelfUser().getId());
     }
 
+    /**
+     * Gets all the available Botlists as JSONObject.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA jda instance} that should be used.
+     *
+     * @return CompletableFuture containing the Botlists as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getBotInfosAsync(@NotNull JDA jda){
+        return getBotInfosAsync(jda.getSelfUser().getId());
+    }
+
     /**
      * Gets all the available Botlists as JSONObject.
      * <br>The data of each Botlist depends on the site.
@@ -447,6 +992,24 @@ public class RequestHandler {
         return getBotInfos(Long.toString(id));
     }
 
+    /**
+     * Gets all the available Botlists as JSONObject.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return CompletableFuture containing the Botlists as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getBotInfosAsync(Long id){
+        return getBotInfosAsync(Long.toString(id));
+    }
+
     /**
      * Gets all the available Botlists as JSONObject.
      * <br>The data of each Botlist depends on the site.
@@ -478,7 +1041,81 @@ public class RequestHandler {
      * @since v2.0.0
      */
     public JSONObject getBotInfos(@NotNull String id) throws IOException, RatelimitedException{
-        return getAll(id).getJSONObject("list_data");
+        return await(getBotInfosAsync(id));
+    }
+
+    /**
+     * Gets all the available Botlists as JSONObject.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot
+     *
+     * @return CompletableFuture containing the Botlists as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getBotInfosAsync(@NotNull String id){
+        return getAllAsync(id).thenApply(json -> json.getJSONObject("list_data"));
+    }
+
+    /**
+     * Watches the information of a bot on all Botlists and calls the listener whenever it changes.
+     * <br>The bot is polled every X time units and only the Botlists whose information changed since the previous
+     * poll are passed to the listener. The first poll only remembers the current information.
+     *
+     * <p>All watches of the same bot share a single poll, which is made at the shortest interval of them. A poll is
+     * skipped while the previous one is still running. The listener is called from a separate thread and shouldn't
+     * block for long.
+     * With the {@link Builder#enableCache(long, TimeUnit, int) cache} enabled, changes are only noticed once the
+     * cached response expired.
+     *
+     * @param  id
+     *         The id of the bot.
+     * @param  interval
+     *         The interval between two polls. Needs to be bigger than 0.
+     * @param  unit
+     *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the interval. May not be null.
+     * @param  listener
+     *         The {@link com.andre601.javabotblockapi.BotInfoListener BotInfoListener} to call. May not be null.
+     *
+     * @return The {@link com.andre601.javabotblockapi.BotInfoWatch BotInfoWatch} to cancel the watch with.
+     *
+     * @throws IllegalArgumentException
+     *         When the interval is less than 1.
+     *
+     * @since v2.0.0
+     */
+    public BotInfoWatch watchBotInfos(@NotNull String id, long interval, @NotNull TimeUnit unit,
+                                      @NotNull BotInfoListener listener){
+        Check.notEmpty(id, "ID may not be empty.");
+        Check.notNull(unit, "TimeUnit may not be null.");
+        Check.notNull(listener, "Listener may not be null.");
+        if(interval < 1)
+            throw new IllegalArgumentException("Interval may not be less than 1.");
+
+        synchronized(watchers){
+            BotInfoPoller poller = watchers.get(id);
+            BotInfoWatch watch = poller == null ? null : poller.subscribe(listener, unit.toNanos(interval));
+            if(watch != null)
+                return watch;
+
+            // Either no poller exists yet, or the last watch of the previous one was just cancelled.
+            Executor executor = virtualExecutor == null ? ForkJoinPool.commonPool() : virtualExecutor;
+            poller = new BotInfoPoller(id, () -> getBotAsync(id), scheduler, executor, () -> {
+                synchronized(watchers){
+                    BotInfoPoller current = watchers.get(id);
+                    if(current != null && current.isClosed())
+                        watchers.remove(id);
+                }
+            });
+
+            watchers.put(id, poller);
+            return poller.subscribe(listener, unit.toNanos(interval));
+        }
     }
 
     /**
@@ -513,6 +1150,27 @@ public class RequestHandler {
                 .getSelfUser().getId(), site);
     }
 
+    /**
+     * Gets the specific information from a single Botlist.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  shardManager
+     *         The {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager instance} that should be used.
+     * @param  site
+     *         The sites name to get information from.
+     *
+     * @return CompletableFuture containing the sites information as JSONArray.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONArray> getBotInfoAsync(@NotNull ShardManager shardManager, @NotNull String site){
+        return getBotInfoAsync(Objects.requireNonNull(shardManager.getShardById(0), "Received invalid shard.")
+                .getSelfUser().getId(), site);
+    }
+
     /**
      * Gets the specific information from a single Botlist.
      * <br>The returned data depends on the Botlist.
@@ -544,6 +1202,26 @@ public class RequestHandler {
         return getBotInfo(Long.toString(id), site);
     }
 
+    /**
+     * Gets the specific information from a single Botlist.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot.
+     * @param  site
+     *         The sites name to get information from.
+     *
+     * @return CompletableFuture containing the sites information as JSONArray.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONArray> getBotInfoAsync(Long id, @NotNull String site){
+        return getBotInfoAsync(Long.toString(id), site);
+    }
+
     /**
      * Gets the specific information from a single Botlist.
      * <br>The returned data depends on the Botlist.
@@ -575,6 +1253,26 @@ public class RequestHandler {
         return getBotInfo(jda.getSelfUser().getId(), site);
     }
 
+    /**
+     * Gets the specific information from a single Botlist.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     * @param  site
+     *         The sites name to get information from.
+     *
+     * @return CompletableFuture containing the sites information as JSONArray.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONArray> getBotInfoAsync(@NotNull JDA jda, @NotNull String site){
+        return getBotInfoAsync(jda.getSelfUser().getId(), site);
+    }
+
     /**
      * Gets the specific information from a single Botlist.
      * <br>The returned data depends on the Botlist.
@@ -603,7 +1301,27 @@ public class RequestHandler {
      * @since v2.0.0
      */
     public JSONArray getBotInfo(@NotNull String id, @NotNull String site) throws IOException, RatelimitedException{
-        return getAll(id).getJSONObject("list_data").getJSONArray(site);
+        return await(getBotInfoAsync(id, site));
+    }
+
+    /**
+     * Gets the specific information from a single Botlist.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot.
+     * @param  site
+     *         The sites name to get information from.
+     *
+     * @return CompletableFuture containing the sites information as JSONArray.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONArray> getBotInfoAsync(@NotNull String id, @NotNull String site){
+        return getAllAsync(id).thenApply(json -> json.getJSONObject("list_data").getJSONArray(site));
     }
 
     /**
@@ -662,6 +1380,25 @@ public class RequestHandler {
                 .getSelfUser().getId());
     }
 
+    /**
+     * Gets information from BotBlock about the provided Bot.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  shardManager
+     *         The instance of {@link net.dv8tion.jda.api.sharding.ShardManager ShardManager} to use.
+     *
+     * @return CompletableFuture containing the Bot information as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getAllAsync(@NotNull ShardManager shardManager){
+        return getAllAsync(Objects.requireNonNull(shardManager.getShardById(0), "Received invalid shard.")
+                .getSelfUser().getId());
+    }
+
     /**
      * Gets information from BotBlock about the provided Bot.
      * <br>The information can contain:
@@ -717,6 +1454,24 @@ public class RequestHandler {
         return getAll(jda.getSelfUser().getId());
     }
 
+    /**
+     * Gets information from BotBlock about the provided Bot.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  jda
+     *         The instance of {@link net.dv8tion.jda.api.JDA JDA} to use.
+     *
+     * @return CompletableFuture containing the Bot information as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getAllAsync(@NotNull JDA jda){
+        return getAllAsync(jda.getSelfUser().getId());
+    }
+
     /**
      * Gets information from BotBlock about the provided Bot.
      * <br>The information can contain:
@@ -772,6 +1527,24 @@ public class RequestHandler {
         return getAll(Long.toString(id));
     }
 
+    /**
+     * Gets information from BotBlock about the provided Bot.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return CompletableFuture containing the Bot information as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getAllAsync(Long id){
+        return getAllAsync(Long.toString(id));
+    }
+
     /**
      * Gets information from BotBlock about the provided Bot.
      * <br>The information can contain:
@@ -824,32 +1597,183 @@ public class RequestHandler {
      * @since v2.0.0
      */
     public JSONObject getAll(@NotNull String id) throws IOException, RatelimitedException{
-        String url = BASE_URL + "bots/" + id;
+        return await(getAllAsync(id));
+    }
 
-        Request request = new Request.Builder()
-                .url(url)
-                .addHeader("User-Agent", id)
-                .build();
+    /**
+     * Gets information from BotBlock about the provided Bot.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return CompletableFuture containing the Bot information as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getAllAsync(@NotNull String id){
+        if(cache != null){
+            ResponseCache.CachedResponse entry = cache.get(id);
+            if(entry != null && entry.isFresh())
+                return CompletableFuture.completedFuture(entry.getJson());
+        }
+
+        // Callers of the same flight share the response, so each of them gets its own copy.
+        return flights.execute("bots/" + id, () -> fetchBot(id))
+                .thenApply(json -> (JSONObject)ResponseCache.copy(json));
+    }
 
-        try(Response response = CLIENT.newCall(request).execute()){
-            Check.notNull(response.body(), "Received empty response body from BotBlcok API.");
-            ResponseBody responseBody = response.body();
+    /**
+     * Gets information from BotBlock about the provided Bot as {@link com.andre601.javabotblockapi.BotInfo BotInfo}.
+     * <br>BotInfo contains the same data as {@link #getAll(String) getAll(String)}, but is immutable and uses far less
+     * memory, which makes it the better choice for keeping or comparing results.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return The Bot information as {@link com.andre601.javabotblockapi.BotInfo BotInfo}.
+     *
+     * @throws IOException
+     *         When the request couldn't be performed properly.
+     * @throws RatelimitedException
+     *         When the API gets ratelimited.
+     *
+     * @since v2.0.0
+     */
+    public BotInfo getBot(@NotNull String id) throws IOException, RatelimitedException{
+        return await(getBotAsync(id));
+    }
 
-            Check.notEmpty(responseBody.string(), "Received empty response body from BotBlock API.");
+    /**
+     * Gets information from BotBlock about the provided Bot as {@link com.andre601.javabotblockapi.BotInfo BotInfo}.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * <p>When the cache is enabled, cached entries are returned as-is without creating any copy. Concurrent calls
+     * for the same bot share a single request, even if the cache isn't enabled.
+     *
+     * @param  id
+     *         The id of the bot.
+     *
+     * @return CompletableFuture containing the Bot information as {@link com.andre601.javabotblockapi.BotInfo BotInfo}.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<BotInfo> getBotAsync(@NotNull String id){
+        if(cache != null){
+            ResponseCache.CachedResponse entry = cache.get(id);
+            if(entry != null && entry.isFresh())
+                return CompletableFuture.completedFuture(entry.getBotInfo());
+        }
 
-            if(!response.isSuccessful()){
-                if(response.code() == 429)
-                    throw new RatelimitedException(responseBody.string());
+        return flights.execute("bots/" + id, () -> fetchBot(id)).thenApply(BotInfo::of);
+    }
 
-                throw new IOException(String.format(
-                        "Couldn't get Bot information. Site responded with error code %d (%s)",
-                        response.code(),
-                        response.message()
-                ));
+    /*
+     * Gets the raw response. The result is shared by all callers of the flight and the cache, so it may not be modified.
+     */
+    private CompletableFuture<JSONObject> fetchBot(String id){
+        Request.Builder builder = new Request.Builder()
+                .url(BASE_URL + "bots/" + id)
+                .addHeader("User-Agent", id);
+
+        if(cache == null)
+            return performRequest(MetricsRecorder.Endpoint.BOTS, builder.build(), "Couldn't get Bot information.");
+
+        ResponseCache.CachedResponse entry = cache.get(id);
+        if(entry != null && entry.getEtag() != null)
+            builder.addHeader("If-None-Match", entry.getEtag());
+
+        return performRequest(MetricsRecorder.Endpoint.BOTS, builder.build(), response -> {
+            if(entry != null && response.code() == 304){
+                entry.revalidate();
+                return entry.getJson();
             }
 
-            return new JSONObject(responseBody.string());
-        }
+            JSONObject json = handleResponse(response, "Couldn't get Bot information.");
+            cache.put(id, json, response.header("ETag"));
+
+            return json;
+        });
+    }
+
+    /**
+     * Gets information from BotBlock about all provided Bots.
+     * <br>The lookups run in parallel, limited by {@link Builder#setBulkLimits(int, long, TimeUnit) setBulkLimits(...)}.
+     * Lookups that get ratelimited are held back until the ratelimit is over and then retried.
+     *
+     * <p>Failed lookups don't cause an exception, but are listed in {@link BulkResult#getFailures() getFailures()}.
+     * Duplicate ids are only looked up once.
+     *
+     * @param  ids
+     *         The ids of the bots. May not be null.
+     *
+     * @return {@link com.andre601.javabotblockapi.BulkResult BulkResult} containing the information of every bot.
+     *
+     * @throws IOException
+     *         When the thread got interrupted while waiting for the lookups.
+     * @throws RatelimitedException
+     *         Not thrown for single lookups, which are listed in the failures instead.
+     *
+     * @since v2.0.0
+     */
+    public BulkResult getAll(@NotNull Collection<String> ids) throws IOException, RatelimitedException{
+        return await(getAllAsync(ids));
+    }
+
+    /**
+     * Gets information from BotBlock about all provided Bots.
+     * <br>The lookups are performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed once every lookup completed and
+     * never completes exceptionally.
+     *
+     * @param  ids
+     *         The ids of the bots. May not be null.
+     *
+     * @return CompletableFuture containing the {@link com.andre601.javabotblockapi.BulkResult BulkResult}.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<BulkResult> getAllAsync(@NotNull Collection<String> ids){
+        return getAllAsync(ids, null);
+    }
+
+    /**
+     * Gets information from BotBlock about all provided Bots.
+     * <br>The provided callback receives the result of each lookup as soon as it completed, allowing results to be
+     * processed while other lookups are still running. It may be called from different threads.
+     *
+     * @param  ids
+     *         The ids of the bots. May not be null.
+     * @param  callback
+     *         The callback for each completed lookup, or null to only use the returned
+     *         {@link com.andre601.javabotblockapi.BulkResult BulkResult}.
+     *
+     * @return CompletableFuture containing the {@link com.andre601.javabotblockapi.BulkResult BulkResult}.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<BulkResult> getAllAsync(@NotNull Collection<String> ids,
+                                                     @Nullable Consumer<BulkResult.Entry> callback){
+        Check.notNull(ids, "IDs may not be null.");
+
+        return new BulkLookup(ids, this::getBotAsync, scheduler, bulkConcurrency, bulkSpacing, callback).start();
+    }
+
+    /**
+     * Removes all cached responses, forcing the next requests to get fresh data from the BotBlock API.
+     * <br>This does nothing when the cache wasn't enabled through {@link Builder#enableCache(long, TimeUnit, int)}.
+     *
+     * @since v2.0.0
+     */
+    public void clearCache(){
+        if(cache != null)
+            cache.clear();
     }
 
     /**
@@ -881,7 +1805,31 @@ public class RequestHandler {
      * @since v2.0.0
      */
     public JSONObject getBotlist(@NotNull String name) throws IOException, RatelimitedException{
-        return getBotlists().getJSONObject(name);
+        return await(getBotlistAsync(name));
+    }
+
+    /**
+     * Returns the provided botlist info that is saved in BotBlock.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @param  name
+     *         The name of the botlist.
+     *
+     * @return CompletableFuture containing the botlist as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getBotlistAsync(@NotNull String name){
+        if(catalog != null){
+            JSONObject botlist = catalog.getBotlist(name);
+            if(botlist != null)
+                return CompletableFuture.completedFuture(botlist);
+        }
+
+        return getBotlistsAsync().thenApply(json -> json.getJSONObject(name));
     }
 
     /**
@@ -921,89 +1869,977 @@ public class RequestHandler {
      * @since v2.0.0
      */
     public JSONObject getBotlists() throws IOException, RatelimitedException{
-        String url = BASE_URL + "lists";
+        return await(getBotlistsAsync());
+    }
+
+    /**
+     * Returns the current botlists that BotBlock supports.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @return CompletableFuture containing the botlists as JSONObject.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<JSONObject> getBotlistsAsync(){
+        if(catalog == null)
+            return fetchLists().thenApply(json -> (JSONObject)ResponseCache.copy(json));
+
+        JSONObject botlists = catalog.getBotlists();
+        if(botlists != null)
+            return CompletableFuture.completedFuture(botlists);
+
+        return refreshBotlists().thenApply(ignored -> catalog.getBotlists());
+    }
+
+    /**
+     * Returns the current botlists that BotBlock supports as {@link com.andre601.javabotblockapi.Botlist Botlists}.
+     * <br>This contains the same data as {@link #getBotlists() getBotlists()}, but the botlists are immutable and
+     * returned from the {@link BotlistCatalog BotlistCatalog} without creating any copy, if it was enabled.
+     *
+     * @return Unmodifiable Map of the botlists, mapped by their name.
+     *
+     * @throws IOException
+     *         When the request couldn't be performed properly.
+     * @throws RatelimitedException
+     *         When the API gets ratelimited.
+     *
+     * @since v2.0.0
+     */
+    public Map<String, Botlist> getSites() throws IOException, RatelimitedException{
+        return await(getSitesAsync());
+    }
 
+    /**
+     * Returns the current botlists that BotBlock supports as {@link com.andre601.javabotblockapi.Botlist Botlists}.
+     * <br>The request is performed without blocking the current thread. The returned
+     * {@link java.util.concurrent.CompletableFuture CompletableFuture} is completed exceptionally with an
+     * {@link java.io.IOException IOException} or {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+     * when the request fails.
+     *
+     * @return CompletableFuture containing an unmodifiable Map of the botlists, mapped by their name.
+     *
+     * @since v2.0.0
+     */
+    public CompletableFuture<Map<String, Botlist>> getSitesAsync(){
+        if(catalog == null)
+            return fetchLists().thenApply(Botlist::ofAll);
+
+        Map<String, Botlist> sites = catalog.getSites();
+        if(sites != null)
+            return CompletableFuture.completedFuture(sites);
+
+        return refreshBotlists().thenApply(ignored -> catalog.getSites());
+    }
+
+    /**
+     * Gets the {@link com.andre601.javabotblockapi.BotlistCatalog BotlistCatalog} of this RequestHandler.
+     * <br>The catalog is only available when enabled through
+     * {@link Builder#enableBotlistCatalog(File, long, TimeUnit)}.
+     *
+     * @return The BotlistCatalog, or null if it wasn't enabled.
+     *
+     * @since v2.0.0
+     */
+    @Nullable
+    public BotlistCatalog getBotlistCatalog(){
+        return catalog;
+    }
+
+    /*
+     * Gets the botlists without the catalog. Callers of the same flight share the response, so it may not be modified.
+     */
+    private CompletableFuture<JSONObject> fetchLists(){
         Request request = new Request.Builder()
-                .url(url)
+                .url(BASE_URL + "lists")
                 .build();
 
-        try(Response response = CLIENT.newCall(request).execute()){
-            Check.notNull(response.body(), "Received empty response body from BotBlcok API.");
-            ResponseBody responseBody = response.body();
+        return flights.execute("lists", () -> performRequest(MetricsRecorder.Endpoint.LISTS, request,
+                "Couldn't get Botlists."));
+    }
 
-            Check.notEmpty(responseBody.string(), "Received empty response body from BotBlock API.");
+    /*
+     * Updates the catalog with the current botlists. Conditional headers are sent, so that an unchanged list
+     * doesn't need to be downloaded and parsed again.
+     */
+    private CompletableFuture<Void> refreshBotlists(){
+        return flights.execute("catalog", this::fetchBotlists);
+    }
 
-            if(!response.isSuccessful()){
-                if(response.code() == 429)
-                    throw new RatelimitedException(responseBody.string());
+    private CompletableFuture<Void> fetchBotlists(){
+        Request.Builder builder = new Request.Builder()
+                .url(BASE_URL + "lists");
 
-                throw new IOException(String.format(
-                        "Couldn't get Botlists. Site responded with error code %d (%s)",
-                        response.code(),
-                        response.message()
-                ));
-            }
+        if(catalog.getEtag() != null)
+            builder.addHeader("If-None-Match", catalog.getEtag());
+        if(catalog.getLastModified() != null)
+            builder.addHeader("If-Modified-Since", catalog.getLastModified());
+
+        return performRequest(MetricsRecorder.Endpoint.LISTS, builder.build(), response -> {
+            if(response.code() == 304 && catalog.isLoaded())
+                return null;
+
+            JSONObject json = handleResponse(response, "Couldn't get Botlists.");
+            catalog.update(json, response.header("ETag"), response.header("Last-Modified"));
 
-            return new JSONObject(responseBody.string());
+            return null;
+        });
+    }
+
+    CompletableFuture<PostResult> postRequest(CountPayload payload){
+        Check.notNull(payload, "Payload may not be null.");
+
+        CompletableFuture<PostResult> future;
+        if(outbox == null){
+            future = send(payload);
+        }else{
+            // Writing the outbox waits for the disk, so it never happens on the thread of the caller.
+            future = CompletableFuture.runAsync(() -> {
+                try{
+                    outbox.record(payload);
+                }catch(IOException ex){
+                    ex.printStackTrace();
+                }
+            }, ioExecutor()).thenCompose(ignored -> send(payload));
+
+            // Entries of posts with failed sites are kept, so that they are posted again after a restart.
+            future.thenAcceptAsync(result -> {
+                if(!result.isSuccessful() || result.isSuperseded())
+                    return;
+
+                try{
+                    outbox.complete(payload);
+                }catch(IOException ex){
+                    ex.printStackTrace();
+                }
+            }, ioExecutor());
         }
+
+        // Superseded results belong to a newer payload, so they never count as a post of this one.
+        // The counts are remembered once any site accepted them. Waiting for every site would turn off the
+        // suppression for good as soon as a single site keeps failing (f.e. because of an invalid token).
+        // Failed sites still get the counts again with the next heartbeat.
+        if(deltaTracker != null)
+            future.thenAccept(result -> {
+                if(!result.isSuperseded() && !result.getSucceededSites().isEmpty())
+                    deltaTracker.recordSuccess(payload);
+            });
+
+        return future;
     }
 
-    private void postRequest() throws IOException, RatelimitedException{
-        Check.notNull(json, "JSON may not be null.");
-        Check.notEmpty(id, "ID may not be empty.");
+    private CompletableFuture<PostResult> send(CountPayload payload){
+        if(directPoster != null)
+            return directPoster.post(payload);
+        if(ratelimitQueue != null)
+            return ratelimitQueue.submit("count", payload);
+
+        return sendPost(payload);
+    }
 
+    /*
+     * Executor for blocking file operations. The scheduler runs them one after another, unless virtual threads are
+     * enabled.
+     */
+    private Executor ioExecutor(){
+        return virtualExecutor != null ? virtualExecutor : scheduler;
+    }
+
+    private CompletableFuture<PostResult> sendPost(CountPayload payload){
         String url = BASE_URL + "count";
 
-        RequestBody body = RequestBody.create(null, json.toString());
+        RequestBody body = RequestBody.create(null, payload.toJsonBytes());
         Request request = new Request.Builder()
                 .url(url)
-                .addHeader("User-Agent", id)
+                .addHeader("User-Agent", payload.getBotId())
                 .addHeader("Content-Type", "application/json") // Some sites require this in the header.
                 .post(body)
                 .build();
 
-        try(Response response = CLIENT.newCall(request).execute()){
-            Check.notNull(response.body(), "Received empty response body from BotBlcok API.");
-            ResponseBody responseBody = response.body();
+        return performRequest(MetricsRecorder.Endpoint.COUNT, request, response -> {
+            PostResult result = new PostResult(handleResponse(response, "Couldn't post guild counts to BotBlockAPI!"));
+            for(String site : result.getFailedSites())
+                metrics.recordSiteFailure(site);
+
+            return result;
+        });
+    }
+
+    private CompletableFuture<JSONObject> performRequest(MetricsRecorder.Endpoint endpoint, Request request,
+                                                         String errorMessage){
+        return performRequest(endpoint, request, response -> handleResponse(response, errorMessage));
+    }
+
+    private <T> CompletableFuture<T> performRequest(MetricsRecorder.Endpoint endpoint, Request request,
+                                                    ResponseHandler<T> handler){
+        CompletableFuture<T> future = new CompletableFuture<>();
+        attempt(endpoint, request, handler, future, 1, null);
+
+        return future;
+    }
 
-            Check.notEmpty(responseBody.string(), "Received empty response body from BotBlock API.");
+    /*
+     * Performs a single attempt of the request. Connection failures and server errors are retried according to the
+     * retry policy, and count as failures of the circuit breaker of the endpoint.
+     *
+     * The failure of the previous attempt becomes the cause when the circuit opened in the meantime, as it is the
+     * actual reason why the request failed.
+     */
+    private <T> void attempt(MetricsRecorder.Endpoint endpoint, Request request, ResponseHandler<T> handler,
+                             CompletableFuture<T> future, int attempt, @Nullable IOException lastFailure){
+        CircuitBreaker breaker = circuitBreakers == null ? null : circuitBreakers.get(endpoint);
+        if(breaker != null && !breaker.tryAcquire()){
+            future.completeExceptionally(new IOException(String.format(
+                    "Endpoint %s of the BotBlock API is unavailable. Next attempt possible in %d seconds.",
+                    endpoint,
+                    breaker.getRemainingSeconds()
+            ), lastFailure));
+            return;
+        }
 
-            if(!response.isSuccessful()){
-                if(response.code() == 429)
-                    throw new RatelimitedException(responseBody.string());
+        long start = System.nanoTime();
+        CLIENT.newCall(request).enqueue(new Callback(){
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException ex){
+                metrics.recordRequest(endpoint, System.nanoTime() - start, false);
+                if(breaker != null)
+                    breaker.recordFailure();
 
-                throw new IOException(String.format(
-                        "Couldn't post guild counts to BotBlockAPI! Site responded with error code %d (%s)",
+                if(!retry(endpoint, request, handler, future, attempt, ex))
+                    future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response){
+                boolean serverError = response.code() >= 500;
+                if(breaker != null){
+                    if(serverError)
+                        breaker.recordFailure();
+                    else
+                        breaker.recordSuccess();
+                }
+
+                IOException failure = !serverError ? null : new IOException(String.format(
+                        "BotBlock API responded with error code %d (%s)",
                         response.code(),
                         response.message()
                 ));
+                if(serverError && retry(endpoint, request, handler, future, attempt, failure)){
+                    response.close();
+                    metrics.recordRequest(endpoint, System.nanoTime() - start, false);
+                    return;
+                }
+
+                T result;
+                try(Response res = response){
+                    result = handler.handle(res);
+                }catch(RatelimitedException ex){
+                    metrics.recordRequest(endpoint, System.nanoTime() - start, false);
+                    metrics.recordRatelimit(endpoint, ex.getDelay());
+                    future.completeExceptionally(ex);
+                    return;
+                }catch(IOException | RuntimeException ex){
+                    metrics.recordRequest(endpoint, System.nanoTime() - start, false);
+                    future.completeExceptionally(ex);
+                    return;
+                }
+
+                metrics.recordRequest(endpoint, System.nanoTime() - start, true);
+                future.complete(result);
             }
+        });
+    }
 
-            JSONObject json = new JSONObject(responseBody);
-            if(json.has("failure")){
-                JSONObject failure = json.getJSONObject("failure");
-
-                List<String> sites = new ArrayList<>();
-                for(String key : failure.keySet()){
-                    try{
-                        JSONArray array = failure.getJSONArray(key);
-                        sites.add(String.format(
-                                "Name: %s, Error code: %d, Error Message: %s",
-                                key,
-                                array.getInt(0),
-                                array.getString(1)
-                        ));
-                    }catch (JSONException ex){
-                        Map<String, Object> notFound = failure.toMap();
-                        sites.add("Errors: " + notFound.toString());
-                    }
+    private <T> boolean retry(MetricsRecorder.Endpoint endpoint, Request request, ResponseHandler<T> handler,
+                              CompletableFuture<T> future, int attempt, IOException failure){
+        if(attempt >= retryPolicy.getMaxAttempts())
+            return false;
+
+        try{
+            scheduler.schedule(
+                    () -> attempt(endpoint, request, handler, future, attempt + 1, failure),
+                    retryPolicy.delay(attempt),
+                    TimeUnit.NANOSECONDS
+            );
+            return true;
+        }catch(RejectedExecutionException ex){
+            // The RequestHandler was shut down.
+            return false;
+        }
+    }
+
+    private JSONObject handleResponse(Response response, String errorMessage) throws IOException, RatelimitedException{
+        if(!response.isSuccessful()){
+            if(response.code() == 429)
+                throw new RatelimitedException(ResponseParser.parse(response.body(), maxResponseSize));
+
+            throw new IOException(String.format(
+                    "%s Site responded with error code %d (%s)",
+                    errorMessage,
+                    response.code(),
+                    response.message()
+            ));
+        }
+
+        return ResponseParser.parse(response.body(), maxResponseSize);
+    }
+
+    /*
+     * Blocks until the provided future is completed and rethrows whatever it failed with, so that the blocking
+     * methods keep throwing the same exceptions as before.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException, RatelimitedException{
+        try{
+            return future.get();
+        }catch(InterruptedException ex){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the BotBlock API.");
+        }catch(ExecutionException ex){
+            Throwable cause = ex.getCause();
+            if(cause instanceof IOException)
+                throw (IOException)cause;
+            if(cause instanceof RatelimitedException)
+                throw (RatelimitedException)cause;
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException)cause;
+            if(cause instanceof Error)
+                throw (Error)cause;
+
+            throw new IOException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T>{
+        T handle(Response response) throws IOException, RatelimitedException;
+    }
+
+    /**
+     * Builder class to create an instance of {@link com.andre601.javabotblockapi.RequestHandler RequestHandler}
+     * with optional features enabled.
+     *
+     * @since v2.0.0
+     */
+    public static class Builder{
+        static final String DEFAULT_BASE_URL = "https://botblock.org/api/";
+        static final int DEFAULT_BULK_CONCURRENCY = 4;
+
+        private long cacheTtl = -1;
+        private int cacheSize = 0;
+
+        private File catalogFile = null;
+        private long catalogRefresh = -1;
+
+        private boolean ratelimitQueue = false;
+        private boolean directPosting = false;
+
+        private String baseUrl = DEFAULT_BASE_URL;
+
+        private int heartbeat = -1;
+
+        private long maxResponseSize = ResponseParser.DEFAULT_MAX_SIZE;
+
+        private ScheduledExecutorService scheduler = null;
+
+        private MetricsRecorder metrics = new MetricsRecorder(){};
+
+        private RetryPolicy retryPolicy = new RetryPolicy.Builder().setMaxAttempts(1).build();
+        private int failureThreshold = -1;
+        private long openDuration = -1;
+
+        private boolean virtualThreads = false;
+
+        private File outboxFile = null;
+
+        private long shardJitter = -1;
+
+        private int bulkConcurrency = DEFAULT_BULK_CONCURRENCY;
+        private long bulkSpacing = 0;
+
+        private OkHttpClient httpClient = null;
+        private int maxIdleConnections = -1;
+        private long keepAlive = -1;
+        private long connectTimeout = -1;
+        private long readTimeout = -1;
+        private int maxRequests = -1;
+        private int maxRequestsPerHost = -1;
+
+        /**
+         * Empty constructor to get the class.
+         */
+        public Builder(){}
+
+        /**
+         * Enables caching of the responses from {@link #getAll(String) getAll(...)}.
+         * <br>Methods that use getAll like {@link #getOwners(String) getOwners(...)} or
+         * {@link #getBotInfos(String) getBotInfos(...)} will be served from the cache too.
+         *
+         * <p>Entries are kept for the provided time. Expired entries are revalidated using the {@code ETag} of the
+         * previous response, if BotBlock provided one. Once more than {@code maxSize} bots are cached, the
+         * least recently used entry is removed.
+         *
+         * @param  ttl
+         *         The time for how long a response is considered fresh. Needs to be bigger than 0.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the ttl. May not be null.
+         * @param  maxSize
+         *         The maximum amount of bots that are kept in the cache. Needs to be bigger than 0.
+         *
+         * @throws IllegalArgumentException
+         *         When either the ttl or maxSize are less than 1.
+         *
+         * @return The Builder after the cache was enabled. Useful for chaining.
+         */
+        public Builder enableCache(long ttl, @NotNull TimeUnit unit, int maxSize){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(ttl < 1)
+                throw new IllegalArgumentException("Cache TTL may not be less than 1.");
+            if(maxSize < 1)
+                throw new IllegalArgumentException("Cache size may not be less than 1.");
+
+            this.cacheTtl = unit.toNanos(ttl);
+            this.cacheSize = maxSize;
+
+            return this;
+        }
+
+        /**
+         * Enables the {@link com.andre601.javabotblockapi.BotlistCatalog BotlistCatalog}.
+         * <br>With the catalog enabled will {@link #getBotlists() getBotlists()} and
+         * {@link #getBotlist(String) getBotlist(String)} be answered from memory. The catalog is refreshed in the
+         * background using conditional requests.
+         *
+         * <p>When a file is provided, the catalog is saved to it and loaded from it when the RequestHandler is built.
+         *
+         * @param  file
+         *         The file to save the catalog to, or null to only keep it in memory.
+         * @param  refresh
+         *         The delay between each refresh of the catalog. Needs to be bigger than 0.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the delay. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When the refresh delay is less than 1.
+         *
+         * @return The Builder after the catalog was enabled. Useful for chaining.
+         */
+        public Builder enableBotlistCatalog(@Nullable File file, long refresh, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(refresh < 1)
+                throw new IllegalArgumentException("Refresh delay may not be less than 1.");
+
+            this.catalogFile = file;
+            this.catalogRefresh = unit.toNanos(refresh);
+
+            return this;
+        }
+
+        /**
+         * Enables the ratelimit queue for posting guild counts.
+         * <br>When a post gets ratelimited, no {@link com.andre601.javabotblockapi.exceptions.RatelimitedException RatelimitedException}
+         * is thrown. Instead is the post held back until the ratelimit is over and then send again.
+         *
+         * <p>Any post for the same bot made while being ratelimited is held back too, but only the newest one will
+         * be send. The returned futures (or blocking methods) complete once this post was made.
+         *
+         * @return The Builder after the ratelimit queue was enabled. Useful for chaining.
+         */
+        public Builder enableRatelimitQueue(){
+            this.ratelimitQueue = true;
+
+            return this;
+        }
+
+        /**
+         * Enables posting the guild counts directly to every botlist, instead of through the BotBlock API.
+         * <br>The URL and field names of each botlist are taken from the {@link RequestHandler#getBotlists() botlists} of BotBlock
+         * and all sites are posted to in parallel, using the tokens of the BotBlockAPI. A slow or unavailable
+         * site doesn't delay the others, and posting keeps working while BotBlock itself is unavailable, as long
+         * as the botlists were loaded once.
+         *
+         * <p>Each site has its own ratelimit. A site that responded with 429 is skipped, and listed as failed in
+         * the {@link com.andre601.javabotblockapi.PostResult PostResult}, until its {@code Retry-After} passed.
+         * The {@link #enableRatelimitQueue() ratelimit queue} of BotBlock doesn't apply to direct posts.
+         *
+         * <p>The botlists are kept in the {@link #enableBotlistCatalog(File, long, TimeUnit) botlist catalog}. If it
+         * wasn't enabled, a catalog without a file that refreshes once a day is used.
+         *
+         * @return The Builder after direct posting was enabled. Useful for chaining.
+         */
+        public Builder enableDirectPosting(){
+            this.directPosting = true;
+
+            return this;
+        }
+
+        /**
+         * Sets the URL of the BotBlock API.
+         * <br>This is mainly useful for testing against a local server. Default is
+         * {@value #DEFAULT_BASE_URL}.
+         *
+         * @param  baseUrl
+         *         The URL of the API, f.e. {@code http://localhost:8080/api/}. May not be empty.
+         *
+         * @throws IllegalArgumentException
+         *         When the URL isn't a valid HTTP or HTTPS URL.
+         *
+         * @return The Builder after the URL was set. Useful for chaining.
+         */
+        public Builder setBaseUrl(@NotNull String baseUrl){
+            Check.notEmpty(baseUrl, "BaseUrl may not be empty.");
+            if(HttpUrl.parse(baseUrl) == null)
+                throw new IllegalArgumentException("BaseUrl is not a valid HTTP or HTTPS URL.");
+
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+
+            return this;
+        }
+
+        /**
+         * Enables the outbox, which keeps the guild counts of posts that didn't succeed yet in the provided file.
+         * <br>Every post is added to the file before it is send and removed again once it succeeded. When the
+         * application restarts, the counts that were still pending are posted as soon as the auto-posting for the
+         * bot is started, instead of waiting for the first interval. With event posting, they are posted once the
+         * first shard is ready or resumed. They can also be posted manually through
+         * {@link RequestHandler#flushOutbox(String, BotBlockAPI) flushOutbox}.
+         *
+         * <p>Only the guild counts are written to the file. The tokens of the botlists are never stored.
+         *
+         * @param  file
+         *         The file to keep the pending counts in. May not be null.
+         *
+         * @return The Builder after the outbox was enabled. Useful for chaining.
+         */
+        public Builder enableOutbox(@NotNull File file){
+            Check.notNull(file, "File may not be null.");
+
+            this.outboxFile = file;
+
+            return this;
+        }
+
+        /**
+         * Spreads the auto-posting of the shards of a bot evenly across the update interval.
+         * <br>This is meant for bots that run every shard in its own process and call
+         * {@link RequestHandler#startAutoPosting(JDA, BotBlockAPI) startAutoPosting(JDA, BotBlockAPI)} in each of
+         * them. Without spreading would all shards post at nearly the same time after a restart and get ratelimited.
+         *
+         * <p>Each shard posts at {@code interval * shard_id / shard_count} within the interval. The slots are aligned
+         * to the system clock, so the processes don't need to communicate with each other. A random delay of up to
+         * {@code maxJitter} is added to the first post, which should be smaller than the time between two slots.
+         *
+         * <p>This only affects JDA instances with more than one shard.
+         *
+         * @param  maxJitter
+         *         The maximum random delay added to the slot. May be 0 for no jitter.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the maxJitter. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When maxJitter is less than 0.
+         *
+         * @return The Builder after the spreading was enabled. Useful for chaining.
+         */
+        public Builder enableShardSpreading(long maxJitter, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(maxJitter < 0)
+                throw new IllegalArgumentException("Max jitter may not be less than 0.");
+
+            this.shardJitter = unit.toMillis(maxJitter);
+
+            return this;
+        }
+
+        /**
+         * Enables skipping of unchanged posts during auto-posting.
+         * <br>The RequestHandler remembers the last successfully posted guild counts of each bot. When auto-posting
+         * would post the exact same counts again, the post is skipped.
+         *
+         * <p>To prevent botlists from considering the bot inactive, a post is still made once the counts didn't
+         * change for {@code heartbeat} intervals in a row.
+         *
+         * @param  heartbeat
+         *         The amount of intervals after which unchanged counts are posted anyway. Needs to be bigger than 0.
+         *         <br>A value of 1 posts every interval, effectively disabling this feature.
+         *
+         * @throws IllegalArgumentException
+         *         When the heartbeat is less than 1.
+         *
+         * @return The Builder after skipping of unchanged posts was enabled. Useful for chaining.
+         */
+        public Builder enableDeltaSuppression(int heartbeat){
+            if(heartbeat < 1)
+                throw new IllegalArgumentException("Heartbeat may not be less than 1.");
+
+            this.heartbeat = heartbeat;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of a response from the BotBlock API.
+         * <br>Requests with a bigger response fail with an {@link java.io.IOException IOException}. Default is 4 MiB.
+         *
+         * @param  bytes
+         *         The maximum size in bytes. Needs to be bigger than 0.
+         *
+         * @throws IllegalArgumentException
+         *         When the size is less than 1.
+         *
+         * @return The Builder after the maximum size was set. Useful for chaining.
+         */
+        public Builder setMaxResponseSize(long bytes){
+            if(bytes < 1)
+                throw new IllegalArgumentException("Max response size may not be less than 1.");
+
+            this.maxResponseSize = bytes;
+
+            return this;
+        }
+
+        /**
+         * Sets the scheduler that is used for auto-posting and other background tasks.
+         * <br>This allows multiple RequestHandlers to share a single scheduler. By default is a new single-threaded
+         * scheduler created for every RequestHandler.
+         *
+         * <p>The provided scheduler isn't shut down by {@link RequestHandler#shutdown() shutdown()}.
+         *
+         * @param  scheduler
+         *         The {@link java.util.concurrent.ScheduledExecutorService ScheduledExecutorService} to use. May not be null.
+         *
+         * @return The Builder after the scheduler was set. Useful for chaining.
+         */
+        public Builder setScheduler(@NotNull ScheduledExecutorService scheduler){
+            Check.notNull(scheduler, "Scheduler may not be null.");
+
+            this.scheduler = scheduler;
+
+            return this;
+        }
+
+        /**
+         * Sets the {@link okhttp3.OkHttpClient OkHttpClient} that is used for all requests.
+         * <br>This allows the RequestHandler to share the connections and threads of a client that your application
+         * already uses. Other transport options of this Builder are applied on top of the provided client without
+         * changing it.
+         *
+         * <p>The provided client isn't shut down by {@link RequestHandler#shutdown() shutdown()}.
+         *
+         * @param  httpClient
+         *         The {@link okhttp3.OkHttpClient OkHttpClient} to use. May not be null.
+         *
+         * @return The Builder after the client was set. Useful for chaining.
+         */
+        public Builder setHttpClient(@NotNull OkHttpClient httpClient){
+            Check.notNull(httpClient, "HttpClient may not be null.");
+
+            this.httpClient = httpClient;
+
+            return this;
+        }
+
+        /**
+         * Sets how many idle connections are kept open and for how long.
+         * <br>Requests towards the BotBlock API reuse these connections instead of opening a new connection, and
+         * performing a new TLS handshake, for every request.
+         *
+         * <p>By default is the connection pool of OkHttp used, which keeps up to 5 idle connections for 5 minutes.
+         *
+         * @param  maxIdleConnections
+         *         The maximum amount of idle connections. Needs to be bigger than 0.
+         * @param  keepAlive
+         *         The time for how long an idle connection is kept open. Needs to be bigger than 0.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the keepAlive. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When either maxIdleConnections or keepAlive are less than 1.
+         *
+         * @return The Builder after the connection pool was set. Useful for chaining.
+         */
+        public Builder setConnectionPool(int maxIdleConnections, long keepAlive, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(maxIdleConnections < 1)
+                throw new IllegalArgumentException("Max idle connections may not be less than 1.");
+            if(keepAlive < 1)
+                throw new IllegalArgumentException("Keep alive may not be less than 1.");
+
+            // The pool itself is created for every built handler, so that shutting one down doesn't affect another.
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAlive = unit.toNanos(keepAlive);
+
+            return this;
+        }
+
+        /**
+         * Sets how many lookups of {@link RequestHandler#getAll(java.util.Collection) getAll(Collection)} may run at
+         * the same time and how far apart they are started.
+         * <br>By default are up to {@value #DEFAULT_BULK_CONCURRENCY} lookups running at the same time, without any
+         * spacing between them.
+         *
+         * @param  maxConcurrency
+         *         The maximum amount of lookups running at the same time. Needs to be bigger than 0.
+         * @param  spacing
+         *         The minimum time between the start of two lookups. 0 to start them as soon as possible.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the spacing. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When the concurrency is less than 1 or the spacing is negative.
+         *
+         * @return The Builder after the limits were set. Useful for chaining.
+         */
+        public Builder setBulkLimits(int maxConcurrency, long spacing, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(maxConcurrency < 1)
+                throw new IllegalArgumentException("Concurrency may not be less than 1.");
+            if(spacing < 0)
+                throw new IllegalArgumentException("Spacing may not be negative.");
+
+            this.bulkConcurrency = maxConcurrency;
+            this.bulkSpacing = unit.toNanos(spacing);
+
+            return this;
+        }
+
+        /**
+         * Sets the timeouts for connecting to and reading from the BotBlock API.
+         * <br>A timeout of 0 means no timeout. By default are the timeouts of OkHttp (10 seconds) used.
+         *
+         * @param  connectTimeout
+         *         The timeout for establishing a connection. May not be negative.
+         * @param  readTimeout
+         *         The timeout for reading the response. May not be negative.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the timeouts. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When either of the timeouts is negative.
+         *
+         * @return The Builder after the timeouts were set. Useful for chaining.
+         */
+        public Builder setTimeouts(long connectTimeout, long readTimeout, @NotNull TimeUnit unit){
+            return setConnectTimeout(connectTimeout, unit).setReadTimeout(readTimeout, unit);
+        }
+
+        /**
+         * Sets the timeout for connecting to the BotBlock API.
+         * <br>A timeout of 0 means no timeout. By default is the timeout of OkHttp (10 seconds) used.
+         *
+         * @param  timeout
+         *         The timeout for establishing a connection. May not be negative.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the timeout. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When the timeout is negative.
+         *
+         * @return The Builder after the timeout was set. Useful for chaining.
+         */
+        public Builder setConnectTimeout(long timeout, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(timeout < 0)
+                throw new IllegalArgumentException("Connect timeout may not be negative.");
+
+            this.connectTimeout = unit.toMillis(timeout);
+
+            return this;
+        }
+
+        /**
+         * Sets the timeout for reading the responses of the BotBlock API.
+         * <br>A timeout of 0 means no timeout. By default is the timeout of OkHttp (10 seconds) used.
+         *
+         * @param  timeout
+         *         The timeout for reading the response. May not be negative.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the timeout. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When the timeout is negative.
+         *
+         * @return The Builder after the timeout was set. Useful for chaining.
+         */
+        public Builder setReadTimeout(long timeout, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(timeout < 0)
+                throw new IllegalArgumentException("Read timeout may not be negative.");
+
+            this.readTimeout = unit.toMillis(timeout);
+
+            return this;
+        }
+
+        /**
+         * Sets how many requests may run at the same time.
+         * <br>Requests that exceed these limits are queued until a running request finished. Over HTTP/2 do all
+         * requests towards a host share a single connection.
+         *
+         * @param  maxRequests
+         *         The maximum amount of requests in total. Needs to be bigger than 0.
+         * @param  maxRequestsPerHost
+         *         The maximum amount of requests towards a single host. Needs to be bigger than 0.
+         *
+         * @throws IllegalArgumentException
+         *         When either of the limits is less than 1.
+         *
+         * @return The Builder after the limits were set. Useful for chaining.
+         */
+        public Builder setDispatcherLimits(int maxRequests, int maxRequestsPerHost){
+            if(maxRequests < 1 || maxRequestsPerHost < 1)
+                throw new IllegalArgumentException("Request limits may not be less than 1.");
+
+            this.maxRequests = maxRequests;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+
+            return this;
+        }
+
+        /**
+         * Sets the {@link com.andre601.javabotblockapi.MetricsRecorder MetricsRecorder} that receives the latency
+         * and result of every request, as well as ratelimits and failed sites when posting guild counts.
+         * <br>By default are no metrics recorded.
+         *
+         * @param  metrics
+         *         The {@link com.andre601.javabotblockapi.MetricsRecorder MetricsRecorder} to use, f.e.
+         *         {@link com.andre601.javabotblockapi.InMemoryMetrics InMemoryMetrics}. May not be null.
+         *
+         * @return The Builder after the recorder was set. Useful for chaining.
+         */
+        public Builder setMetricsRecorder(@NotNull MetricsRecorder metrics){
+            Check.notNull(metrics, "MetricsRecorder may not be null.");
+
+            this.metrics = metrics;
+
+            return this;
+        }
+
+        /**
+         * Runs requests and auto-posts on virtual threads, if the running Java version supports them (Java 21 or
+         * newer). On older versions is this option ignored and platform threads are used as before.
+         *
+         * <p>Every request and every scheduled post then gets its own virtual thread instead of occupying a thread
+         * of a pool, allowing thousands of concurrent requests and bots with almost no OS threads. The scheduler
+         * itself only keeps the time and stays a single platform thread.
+         *
+         * <p>When a client is provided through {@link #setHttpClient(OkHttpClient)}, a copy of it that uses virtual
+         * threads is used. The provided client itself isn't changed.
+         *
+         * @return The Builder after virtual threads were enabled. Useful for chaining.
+         *
+         * @see RequestHandler#isUsingVirtualThreads()
+         */
+        public Builder enableVirtualThreads(){
+            this.virtualThreads = true;
+
+            return this;
+        }
+
+        /**
+         * Sets the {@link com.andre601.javabotblockapi.RetryPolicy RetryPolicy} for requests towards the BotBlock
+         * API.
+         * <br>By default are failed requests not retried.
+         *
+         * @param  retryPolicy
+         *         The {@link com.andre601.javabotblockapi.RetryPolicy RetryPolicy} to use. May not be null.
+         *
+         * @return The Builder after the retry policy was set. Useful for chaining.
+         */
+        public Builder setRetryPolicy(@NotNull RetryPolicy retryPolicy){
+            Check.notNull(retryPolicy, "RetryPolicy may not be null.");
+
+            this.retryPolicy = retryPolicy;
+
+            return this;
+        }
+
+        /**
+         * Enables a circuit breaker for every endpoint of the BotBlock API.
+         * <br>After the provided amount of consecutive connection failures or server errors, requests towards the
+         * endpoint fail immediately with an {@link java.io.IOException IOException} instead of being send. Once the
+         * open duration passed, a single request is send as a probe. If it succeeds, requests are send again.
+         *
+         * <p>Each attempt of a {@link #setRetryPolicy(RetryPolicy) retried} request counts separately.
+         *
+         * @param  failureThreshold
+         *         The amount of consecutive failures after which the endpoint is considered unavailable. Needs to be
+         *         bigger than 0.
+         * @param  openDuration
+         *         The time for how long requests fail immediately before a probe is send. Needs to be bigger than 0.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the openDuration. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When either failureThreshold or openDuration are less than 1.
+         *
+         * @return The Builder after the circuit breaker was enabled. Useful for chaining.
+         */
+        public Builder enableCircuitBreaker(int failureThreshold, long openDuration, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(failureThreshold < 1)
+                throw new IllegalArgumentException("Failure threshold may not be less than 1.");
+            if(openDuration < 1)
+                throw new IllegalArgumentException("Open duration may not be less than 1.");
+
+            this.failureThreshold = failureThreshold;
+            this.openDuration = unit.toNanos(openDuration);
+
+            return this;
+        }
+
+        /*
+         * A client of our own always has its own dispatcher. A provided client only gets a new one if its limits or
+         * its executor have to be changed.
+         */
+        private boolean createsDispatcher(ExecutorService executor){
+            return httpClient == null || maxRequests > 0 || executor != null;
+        }
+
+        private boolean createsConnectionPool(){
+            return httpClient == null || maxIdleConnections > 0;
+        }
+
+        private OkHttpClient buildClient(ExecutorService executor){
+            OkHttpClient.Builder builder;
+            if(httpClient == null){
+                builder = new OkHttpClient.Builder();
+            }else{
+                if(maxIdleConnections < 0 && connectTimeout < 0 && readTimeout < 0 && !createsDispatcher(executor))
+                    return httpClient;
+
+                builder = httpClient.newBuilder();
+            }
+
+            if(maxIdleConnections > 0)
+                builder.connectionPool(new ConnectionPool(maxIdleConnections, keepAlive, TimeUnit.NANOSECONDS));
+
+            if(connectTimeout >= 0)
+                builder.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS);
+            if(readTimeout >= 0)
+                builder.readTimeout(readTimeout, TimeUnit.MILLISECONDS);
+
+            if(createsDispatcher(executor)){
+                Dispatcher dispatcher = executor == null ? new Dispatcher() : new Dispatcher(executor);
+                if(maxRequests > 0){
+                    dispatcher.setMaxRequests(maxRequests);
+                    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
                 }
 
-                throw new IOException(String.format(
-                        "One or multiple requests failed! Response(s): %s",
-                        String.join(", ", sites)
-                ));
+                builder.dispatcher(dispatcher);
             }
+
+            return builder.build();
+        }
+
+        /**
+         * Builds the instance of {@link com.andre601.javabotblockapi.RequestHandler RequestHandler}.
+         *
+         * @return The built, usable {@link com.andre601.javabotblockapi.RequestHandler RequestHandler}.
+         */
+        public RequestHandler build(){
+            return new RequestHandler(this);
         }
     }
 }
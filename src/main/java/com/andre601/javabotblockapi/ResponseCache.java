@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache for responses of the {@code bots/:id} endpoint.
+ * <br>Entries expire after the configured TTL, but are kept around so that they can be revalidated through their
+ * {@code ETag} instead of being downloaded again.
+ */
+final class ResponseCache{
+    private final long ttlNanos;
+    private final Map<String, CachedResponse> entries;
+
+    ResponseCache(long ttlNanos, int maxSize){
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest){
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized CachedResponse get(String key){
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, JSONObject json, String etag){
+        entries.put(key, new CachedResponse(json, etag, System.nanoTime() + ttlNanos));
+    }
+
+    synchronized void clear(){
+        entries.clear();
+    }
+
+    /**
+     * Creates a deep copy of the provided JSON value, so that callers can't modify cached responses.
+     */
+    static Object copy(Object value){
+        if(value instanceof JSONObject){
+            JSONObject source = (JSONObject)value;
+            JSONObject json = new JSONObject();
+            for(String key : source.keySet())
+                json.put(key, copy(source.get(key)));
+
+            return json;
+        }
+
+        if(value instanceof JSONArray){
+            JSONArray source = (JSONArray)value;
+            JSONArray array = new JSONArray();
+            for(int i = 0; i < source.length(); i++)
+                array.put(copy(source.get(i)));
+
+            return array;
+        }
+
+        return value;
+    }
+
+    final class CachedResponse{
+        private final JSONObject json;
+        private final String etag;
+        private volatile long expiresAt;
+        private volatile BotInfo botInfo = null;
+
+        private CachedResponse(JSONObject json, String etag, long expiresAt){
+            this.json = json;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh(){
+            return System.nanoTime() - expiresAt < 0;
+        }
+
+        String getEtag(){
+            return etag;
+        }
+
+        /**
+         * Marks the entry as fresh again after the server confirmed that it didn't change.
+         */
+        void revalidate(){
+            expiresAt = System.nanoTime() + ttlNanos;
+        }
+
+        JSONObject getJson(){
+            return (JSONObject)copy(json);
+        }
+
+        /**
+         * The {@link BotInfo BotInfo} is only created on first use. It is immutable and can be handed out without
+         * copying it.
+         */
+        BotInfo getBotInfo(){
+            BotInfo current = botInfo;
+            if(current == null)
+                botInfo = current = BotInfo.of(json);
+
+            return current;
+        }
+    }
+}
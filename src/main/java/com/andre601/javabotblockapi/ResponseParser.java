@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import okhttp3.ResponseBody;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses response bodies of the BotBlock API.
+ * <br>The body is read exactly once and parsed directly from the stream of the response, without creating a String
+ * of the whole body first. Bodies bigger than the configured limit are rejected.
+ */
+final class ResponseParser{
+    static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+    private ResponseParser(){}
+
+    static JSONObject parse(ResponseBody body, long maxSize) throws IOException{
+        Check.notNull(body, "Received empty response body from BotBlock API.");
+
+        long length = body.contentLength();
+        if(length > maxSize)
+            throw new IOException(String.format(
+                    "Response body of %d bytes exceeds the limit of %d bytes.",
+                    length,
+                    maxSize
+            ));
+
+        return parse(body.source().inputStream(), maxSize);
+    }
+
+    static JSONObject parse(InputStream stream, long maxSize) throws IOException{
+        try(Reader reader = new InputStreamReader(new BoundedInputStream(stream, maxSize), StandardCharsets.UTF_8)){
+            JSONTokener tokener = new JSONTokener(reader);
+            if(tokener.nextClean() == 0)
+                throw new NullPointerException("Received empty response body from BotBlock API.");
+
+            tokener.back();
+            return new JSONObject(tokener);
+        }catch(JSONException ex){
+            // The tokener wraps failures of the stream, like an exceeded limit, which should stay IOExceptions.
+            if(ex.getCause() instanceof IOException)
+                throw (IOException)ex.getCause();
+
+            throw ex;
+        }
+    }
+
+    /*
+     * Fails once more than the allowed amount of bytes was read, which also covers bodies without a Content-Length.
+     */
+    private static final class BoundedInputStream extends FilterInputStream{
+        private final long maxSize;
+        private long read = 0;
+
+        private BoundedInputStream(InputStream in, long maxSize){
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException{
+            int b = super.read();
+            if(b != -1)
+                count(1);
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException{
+            int amount = super.read(b, off, len);
+            if(amount > 0)
+                count(amount);
+
+            return amount;
+        }
+
+        @Override
+        public long skip(long n) throws IOException{
+            long amount = super.skip(n);
+            count(amount);
+
+            return amount;
+        }
+
+        @Override
+        public boolean markSupported(){
+            return false;
+        }
+
+        private void count(long amount) throws IOException{
+            read += amount;
+            if(read > maxSize)
+                throw new IOException("Response body exceeds the limit of " + maxSize + " bytes.");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policy for retrying requests towards the BotBlock API that failed because of a transient error.
+ * <br>A request is retried when the connection failed or when BotBlock responded with a server error (5xx). Client
+ * errors and ratelimits are never retried.
+ *
+ * <p>The delay between attempts grows exponentially, starting at the base delay and doubling with every attempt, up
+ * to the maximum delay. The actual delay is a random value between 0 and that delay ("full jitter"), so that many
+ * clients failing at the same time don't all retry at the same time.
+ *
+ * <p>Example:
+ * <br><pre><code>
+ * RetryPolicy policy = new RetryPolicy.Builder()
+ *     .setMaxAttempts(4)
+ *     .setBaseDelay(500, TimeUnit.MILLISECONDS)
+ *     .setMaxDelay(30, TimeUnit.SECONDS)
+ *     .build();
+ * </code></pre>
+ *
+ * @since v2.0.0
+ */
+public final class RetryPolicy{
+    private final int maxAttempts;
+    private final long baseDelay;
+    private final long maxDelay;
+
+    private RetryPolicy(Builder builder){
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+    }
+
+    /**
+     * Gets the maximum amount of attempts, including the first one.
+     *
+     * @return The maximum amount of attempts.
+     */
+    public int getMaxAttempts(){
+        return maxAttempts;
+    }
+
+    /**
+     * Gets the delay before the provided retry, including the jitter.
+     *
+     * @param  retry
+     *         The number of the retry, starting at 1.
+     *
+     * @return The delay in nanoseconds.
+     */
+    long delay(int retry){
+        // Shifting by more than the bits of the delay would overflow, and the cap is reached long before anyway.
+        long exponential = retry > 30 ? maxDelay : Math.min(maxDelay, baseDelay << (retry - 1));
+        if(exponential <= 0)
+            exponential = maxDelay;
+
+        return ThreadLocalRandom.current().nextLong(exponential + 1);
+    }
+
+    @Override
+    public String toString(){
+        return String.format(
+                "RetryPolicy{maxAttempts=%d, baseDelay=%dms, maxDelay=%dms}",
+                maxAttempts,
+                TimeUnit.NANOSECONDS.toMillis(baseDelay),
+                TimeUnit.NANOSECONDS.toMillis(maxDelay)
+        );
+    }
+
+    /**
+     * Builder class to create an instance of {@link com.andre601.javabotblockapi.RetryPolicy RetryPolicy}.
+     */
+    public static class Builder{
+        private int maxAttempts = 3;
+        private long baseDelay = TimeUnit.MILLISECONDS.toNanos(500);
+        private long maxDelay = TimeUnit.SECONDS.toNanos(30);
+
+        /**
+         * Empty constructor to get the class.
+         */
+        public Builder(){}
+
+        /**
+         * Sets the maximum amount of attempts, including the first one.
+         * <br>Default is 3.
+         *
+         * @param  maxAttempts
+         *         The maximum amount of attempts. Needs to be bigger than 0.
+         *
+         * @throws IllegalArgumentException
+         *         When maxAttempts is less than 1.
+         *
+         * @return The Builder after the attempts were set. Useful for chaining.
+         */
+        public Builder setMaxAttempts(int maxAttempts){
+            if(maxAttempts < 1)
+                throw new IllegalArgumentException("Max attempts may not be less than 1.");
+
+            this.maxAttempts = maxAttempts;
+
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry, which is doubled for every further retry.
+         * <br>Default is 500 milliseconds.
+         *
+         * @param  delay
+         *         The base delay. Needs to be bigger than 0.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the delay. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When the delay is less than 1.
+         *
+         * @return The Builder after the delay was set. Useful for chaining.
+         */
+        public Builder setBaseDelay(long delay, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(delay < 1)
+                throw new IllegalArgumentException("Base delay may not be less than 1.");
+
+            this.baseDelay = unit.toNanos(delay);
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay between two attempts.
+         * <br>Default is 30 seconds.
+         *
+         * @param  delay
+         *         The maximum delay. Needs to be bigger than 0.
+         * @param  unit
+         *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the delay. May not be null.
+         *
+         * @throws IllegalArgumentException
+         *         When the delay is less than 1.
+         *
+         * @return The Builder after the delay was set. Useful for chaining.
+         */
+        public Builder setMaxDelay(long delay, @NotNull TimeUnit unit){
+            Check.notNull(unit, "TimeUnit may not be null.");
+            if(delay < 1)
+                throw new IllegalArgumentException("Max delay may not be less than 1.");
+
+            this.maxDelay = unit.toNanos(delay);
+
+            return this;
+        }
+
+        /**
+         * Builds the instance of {@link com.andre601.javabotblockapi.RetryPolicy RetryPolicy}.
+         *
+         * @throws IllegalArgumentException
+         *         When the base delay is bigger than the max delay.
+         *
+         * @return The built, usable {@link com.andre601.javabotblockapi.RetryPolicy RetryPolicy}.
+         */
+        public RetryPolicy build(){
+            if(baseDelay > maxDelay)
+                throw new IllegalArgumentException("Base delay may not be bigger than the max delay.");
+
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Collects the guild counts of shards running in separate processes and posts them as a single combined post.
+ *
+ * <p>Every process runs a {@link com.andre601.javabotblockapi.ShardWorker ShardWorker} that sends the guild count
+ * of its shards to the coordinator over a local socket. The coordinator keeps the guild count of every shard and
+ * posts the total {@code server_count} together with the {@code shards} array every X minutes, based on the update
+ * interval of the BotBlockAPI. Posts for a bot only start once every shard reported at least once.
+ *
+ * <p>A shard that didn't report for longer than the {@link #setReportTimeout(long, TimeUnit) report timeout} is
+ * counted with 0 guilds until it reports again, so that the counts of dead shards don't stay in the total forever.
+ *
+ * <p>Workers send one line of JSON per shard, in the same format as a post to the BotBlock API, just without any
+ * tokens:
+ * <br><pre><code>
+ * {"bot_id":"123456789012345678","server_count":1500,"shard_id":2,"shard_count":4}
+ * </code></pre>
+ *
+ * <p>Example:
+ * <br><pre><code>
+ * // In the coordinating process
+ * ShardCoordinator coordinator = new ShardCoordinator(handler, api, 7700);
+ * coordinator.start();
+ *
+ * // In every shard process
+ * ShardWorker worker = new ShardWorker(7700);
+ * worker.start(jda, 1, TimeUnit.MINUTES);
+ * </code></pre>
+ *
+ * @since v2.0.0
+ */
+public class ShardCoordinator implements Closeable{
+    private final RequestHandler handler;
+    private final BotBlockAPI botBlockAPI;
+    private final int port;
+
+    private final Map<String, Shards> bots = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> tasks = new ConcurrentHashMap<>();
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ShardCoordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ServerSocket serverSocket = null;
+    private volatile long reportTimeout;
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor to create a coordinator that posts through the provided RequestHandler.
+     *
+     * @param handler
+     *        The {@link com.andre601.javabotblockapi.RequestHandler RequestHandler} to post with. May not be null.
+     * @param botBlockAPI
+     *        The {@link com.andre601.javabotblockapi.BotBlockAPI BotBlockAPI instance} that should be used.
+     * @param port
+     *        The local port to listen on, or 0 to use any free port.
+     */
+    public ShardCoordinator(@NotNull RequestHandler handler, @NotNull BotBlockAPI botBlockAPI, int port){
+        Check.notNull(handler, "RequestHandler may not be null.");
+        Check.notNull(botBlockAPI, "BotBlockAPI may not be null.");
+        if(port < 0 || port > 65535)
+            throw new IllegalArgumentException("Port needs to be between 0 and 65535.");
+
+        this.handler = handler;
+        this.botBlockAPI = botBlockAPI;
+        this.port = port;
+        this.reportTimeout = TimeUnit.MINUTES.toNanos(botBlockAPI.getUpdateInterval() * 2L);
+    }
+
+    /**
+     * Sets how long a shard may go without reporting before its guild count is no longer part of the total.
+     * <br>Default is twice the update interval of the BotBlockAPI. Workers should report more often than that.
+     *
+     * @param  timeout
+     *         The time after which the guild count of a shard expires. Needs to be bigger than 0.
+     * @param  unit
+     *         The {@link java.util.concurrent.TimeUnit TimeUnit} of the timeout. May not be null.
+     *
+     * @throws IllegalArgumentException
+     *         When the timeout is less than 1.
+     *
+     * @return The ShardCoordinator after the timeout was set. Useful for chaining.
+     */
+    public ShardCoordinator setReportTimeout(long timeout, @NotNull TimeUnit unit){
+        Check.notNull(unit, "TimeUnit may not be null.");
+        if(timeout < 1)
+            throw new IllegalArgumentException("Timeout may not be less than 1.");
+
+        this.reportTimeout = unit.toNanos(timeout);
+
+        return this;
+    }
+
+    /**
+     * Starts listening for workers.
+     * <br>The coordinator only accepts connections from the local machine.
+     *
+     * @throws IOException
+     *         When the port couldn't be opened.
+     * @throws IllegalStateException
+     *         When the coordinator was already started.
+     */
+    public synchronized void start() throws IOException{
+        if(serverSocket != null)
+            throw new IllegalStateException("ShardCoordinator was already started.");
+
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        connections.execute(this::accept);
+    }
+
+    /**
+     * Gets the port the coordinator listens on.
+     * <br>Useful when the coordinator was created with port 0.
+     *
+     * @return The port, or -1 if the coordinator wasn't started yet.
+     */
+    public int getPort(){
+        ServerSocket current = serverSocket;
+        return current == null ? -1 : current.getLocalPort();
+    }
+
+    /**
+     * Stops listening for workers and stops posting.
+     */
+    @Override
+    public void close(){
+        // Closing under the lock makes sure that an update running right now can't schedule a new post afterwards.
+        synchronized(tasks){
+            closed = true;
+            tasks.values().forEach(task -> task.cancel(false));
+            tasks.clear();
+        }
+
+        ServerSocket current = serverSocket;
+        if(current != null){
+            try{
+                current.close();
+            }catch(IOException ignored){}
+        }
+
+        connections.shutdownNow();
+    }
+
+    /**
+     * Updates the guild count of a single shard, as if a worker had send it.
+     * <br>This allows the coordinating process to report its own shards without a socket. Updates made after the
+     * coordinator was closed are ignored.
+     *
+     * @param  botId
+     *         The ID of the bot.
+     * @param  shardId
+     *         The ID of the shard.
+     * @param  shardCount
+     *         The total amount of shards.
+     * @param  guilds
+     *         The guild count of the shard.
+     *
+     * @throws IllegalArgumentException
+     *         When the shardId isn't between 0 and the shardCount.
+     */
+    public void update(@NotNull String botId, int shardId, int shardCount, int guilds){
+        Check.notEmpty(botId, "ID may not be empty.");
+        if(shardCount < 1 || shardId < 0 || shardId >= shardCount)
+            throw new IllegalArgumentException("Shard id needs to be between 0 and the shard count.");
+
+        if(closed)
+            return;
+
+        Shards shards = bots.get(botId);
+        if(shards == null){
+            Shards created = new Shards();
+            shards = bots.putIfAbsent(botId, created);
+            if(shards == null){
+                shards = created;
+                synchronized(tasks){
+                    if(closed)
+                        return;
+
+                    tasks.put(botId, handler.scheduleAutoPosting(
+                            () -> combined(botId),
+                            botBlockAPI.getUpdateInterval(),
+                            TimeUnit.MINUTES
+                    ));
+                }
+            }
+        }
+
+        shards.update(shardId, shardCount, guilds);
+    }
+
+    /*
+     * Gets the combined payload of all shards, or null if not every shard reported yet.
+     */
+    CountPayload combined(String botId){
+        Shards shards = bots.get(botId);
+        return shards == null ? null : shards.toPayload(botId, botBlockAPI, reportTimeout);
+    }
+
+    private void accept(){
+        ServerSocket current = serverSocket;
+        while(!current.isClosed()){
+            try{
+                Socket socket = current.accept();
+                connections.execute(() -> read(socket));
+            }catch(IOException | RejectedExecutionException ex){
+                if(!current.isClosed())
+                    ex.printStackTrace();
+            }
+        }
+    }
+
+    private void read(Socket socket){
+        // Closing the reader closes the socket too.
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(line.isEmpty())
+                    continue;
+
+                try{
+                    JSONObject json = new JSONObject(line);
+                    update(
+                            json.getString("bot_id"),
+                            json.getInt("shard_id"),
+                            json.getInt("shard_count"),
+                            json.getInt("server_count")
+                    );
+                }catch(JSONException | IllegalArgumentException | NullPointerException ex){
+                    // A single broken line shouldn't disconnect the worker.
+                    ex.printStackTrace();
+                }
+            }
+        }catch(IOException ex){
+            if(!socket.isClosed())
+                ex.printStackTrace();
+        }
+    }
+
+    /*
+     * Guild counts of all shards of a single bot. Reset when the shard count changes.
+     */
+    private static final class Shards{
+        private int[] counts = new int[0];
+        private long[] lastReport = new long[0];
+        private boolean[] reported = new boolean[0];
+        private int missing = 0;
+
+        private synchronized void update(int shardId, int shardCount, int guilds){
+            if(counts.length != shardCount){
+                counts = new int[shardCount];
+                lastReport = new long[shardCount];
+                reported = new boolean[shardCount];
+                missing = shardCount;
+            }
+
+            counts[shardId] = guilds;
+            lastReport[shardId] = System.nanoTime();
+            if(!reported[shardId]){
+                reported[shardId] = true;
+                missing--;
+            }
+        }
+
+        private synchronized CountPayload toPayload(String botId, BotBlockAPI botBlockAPI, long reportTimeout){
+            if(missing > 0 || counts.length == 0)
+                return null;
+
+            long now = System.nanoTime();
+            int total = 0;
+            for(int i = 0; i < counts.length; i++){
+                // Counts of shards that stopped reporting are dropped, and only come back with their next report.
+                if(now - lastReport[i] > reportTimeout)
+                    counts[i] = 0;
+
+                total += counts[i];
+            }
+
+            return CountPayload.ofShards(botId, total, counts, botBlockAPI.getAuthTokens());
+        }
+    }
+}
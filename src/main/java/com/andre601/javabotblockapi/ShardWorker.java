@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import net.dv8tion.jda.api.JDA;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the guild counts of the shards of this process to a {@link com.andre601.javabotblockapi.ShardCoordinator
+ * ShardCoordinator} on the same machine.
+ * <br>The connection is opened on the first send and opened again whenever it was lost, so the coordinator may be
+ * started after the workers.
+ *
+ * @since v2.0.0
+ */
+public class ShardWorker implements Closeable{
+    private final int port;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ShardWorker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Socket socket = null;
+    private boolean closed = false;
+
+    /**
+     * Constructor to create a worker that sends to the coordinator on the provided local port.
+     *
+     * @param port
+     *        The port of the {@link com.andre601.javabotblockapi.ShardCoordinator ShardCoordinator}.
+     */
+    public ShardWorker(int port){
+        if(port < 1 || port > 65535)
+            throw new IllegalArgumentException("Port needs to be between 1 and 65535.");
+
+        this.port = port;
+    }
+
+    /**
+     * Sends the guild count of the provided {@link net.dv8tion.jda.api.JDA JDA} to the coordinator.
+     * <br>A JDA without sharding is send as shard 0 of 1.
+     *
+     * @param  jda
+     *         The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     *
+     * @throws IOException
+     *         When the guild count couldn't be send.
+     * @throws IllegalStateException
+     *         When the worker was already closed.
+     */
+    public void send(@NotNull JDA jda) throws IOException{
+        JDA.ShardInfo shardInfo = jda.getShardInfo();
+        send(
+                jda.getSelfUser().getId(),
+                shardInfo == null ? 0 : shardInfo.getShardId(),
+                shardInfo == null ? 1 : shardInfo.getShardTotal(),
+                (int)jda.getGuildCache().size()
+        );
+    }
+
+    /**
+     * Sends the guild count of a single shard to the coordinator.
+     *
+     * @param  botId
+     *         The ID of the bot.
+     * @param  shardId
+     *         The ID of the shard.
+     * @param  shardCount
+     *         The total amount of shards.
+     * @param  guilds
+     *         The guild count of the shard.
+     *
+     * @throws IOException
+     *         When the guild count couldn't be send.
+     * @throws IllegalStateException
+     *         When the worker was already closed.
+     */
+    public synchronized void send(@NotNull String botId, int shardId, int shardCount, int guilds) throws IOException{
+        if(closed)
+            throw new IllegalStateException("ShardWorker was already closed.");
+
+        byte[] line = (CountPayload.ofShard(botId, guilds, shardId, shardCount, AuthTokens.EMPTY)
+                .toCountJsonString() + '\n').getBytes(StandardCharsets.UTF_8);
+
+        try{
+            if(socket == null || socket.isClosed())
+                socket = new Socket(InetAddress.getLoopbackAddress(), port);
+
+            OutputStream stream = socket.getOutputStream();
+            stream.write(line);
+            stream.flush();
+        }catch(IOException ex){
+            disconnect();
+            throw ex;
+        }
+    }
+
+    /**
+     * Sends the guild count of the provided {@link net.dv8tion.jda.api.JDA JDA} every X time units, starting right
+     * away. Failed sends are retried on the next interval.
+     *
+     * @param jda
+     *        The {@link net.dv8tion.jda.api.JDA JDA instance} that should be used.
+     * @param interval
+     *        The interval between two sends. Should be shorter than the update interval of the coordinator.
+     * @param unit
+     *        The {@link java.util.concurrent.TimeUnit TimeUnit} of the interval.
+     */
+    public void start(@NotNull JDA jda, long interval, @NotNull TimeUnit unit){
+        Check.notNull(unit, "TimeUnit may not be null.");
+        if(interval < 1)
+            throw new IllegalArgumentException("Interval may not be less than 1.");
+
+        scheduler.scheduleAtFixedRate(() -> {
+            try{
+                send(jda);
+            }catch(IOException | RuntimeException ex){
+                ex.printStackTrace();
+            }
+        }, 0, interval, unit);
+    }
+
+    /**
+     * Stops sending and closes the connection to the coordinator.
+     */
+    @Override
+    public synchronized void close(){
+        closed = true;
+        scheduler.shutdownNow();
+        disconnect();
+    }
+
+    private void disconnect(){
+        if(socket == null)
+            return;
+
+        try{
+            socket.close();
+        }catch(IOException ignored){}
+
+        socket = null;
+    }
+}
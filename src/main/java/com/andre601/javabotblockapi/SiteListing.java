@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Information a single botlist has about a bot, as part of a {@link com.andre601.javabotblockapi.BotInfo BotInfo}.
+ *
+ * <p>The data of the botlist is different for every site. It is kept as compact JSON text and only decoded when
+ * {@link #getData() getData()} is called.
+ *
+ * <p>BotBlock usually sends an array of the data and the status code. Entries in any other format are kept as-is,
+ * so that {@link #toJson() toJson()} always returns what BotBlock sent.
+ *
+ * @since v2.0.0
+ */
+public final class SiteListing{
+    private final String site;
+    private final int statusCode;
+    private final String rawData;
+    // False if the entry wasn't an array of data and status code. rawData then contains the whole entry.
+    private final boolean wrapped;
+
+    private SiteListing(String site, int statusCode, String rawData, boolean wrapped){
+        this.site = site.intern();
+        this.statusCode = statusCode;
+        this.rawData = rawData;
+        this.wrapped = wrapped;
+    }
+
+    /*
+     * Creates a listing from an entry of "list_data", which usually is an array of the data and the status code.
+     */
+    static SiteListing of(String site, Object entry){
+        if(entry instanceof JSONArray){
+            JSONArray array = (JSONArray)entry;
+            if(array.length() == 2 && array.opt(1) instanceof Integer)
+                return new SiteListing(site, array.getInt(1), encode(array.opt(0)), true);
+        }
+
+        return new SiteListing(site, -1, encode(entry), false);
+    }
+
+    /**
+     * Gets the name of the botlist.
+     *
+     * @return The name of the botlist.
+     */
+    public String getSite(){
+        return site;
+    }
+
+    /**
+     * Gets the HTTP status code the botlist responded with when BotBlock requested the data.
+     *
+     * @return The HTTP status code, or -1 if BotBlock didn't provide one.
+     */
+    public int getStatusCode(){
+        return statusCode;
+    }
+
+    /**
+     * Gets the data of the botlist, decoded from its JSON text.
+     * <br>The data is decoded on every call, so callers may modify the returned value. If BotBlock didn't send the
+     * usual array of data and status code, the whole entry is returned.
+     *
+     * @return The data as {@link org.json.JSONObject JSONObject}, {@link org.json.JSONArray JSONArray}, String or
+     *         Number, or null if the botlist didn't provide any data.
+     */
+    @Nullable
+    public Object getData(){
+        Object data = new JSONTokener(rawData).nextValue();
+        return JSONObject.NULL.equals(data) ? null : data;
+    }
+
+    /**
+     * Gets the data of the botlist as JSON text, without decoding it.
+     *
+     * @return The data as JSON text. {@code null} (as text) if the botlist didn't provide any data.
+     */
+    @NotNull
+    public String getRawData(){
+        return rawData;
+    }
+
+    /**
+     * Converts the listing back into the entry BotBlock sent in {@code list_data}.
+     * <br>The value is created on every call, so callers may modify it.
+     *
+     * @return Usually a JSONArray containing the data and the status code. Entries in any other format are returned
+     *         as they were sent, with {@link org.json.JSONObject#NULL JSONObject.NULL} for null.
+     */
+    public Object toJson(){
+        Object data = getData();
+        if(!wrapped)
+            return data == null ? JSONObject.NULL : data;
+
+        return new JSONArray()
+                .put(data == null ? JSONObject.NULL : data)
+                .put(statusCode);
+    }
+
+    @Override
+    public boolean equals(Object obj){
+        if(this == obj)
+            return true;
+        if(!(obj instanceof SiteListing))
+            return false;
+
+        SiteListing other = (SiteListing)obj;
+        return statusCode == other.statusCode
+                && wrapped == other.wrapped
+                && site.equals(other.site)
+                && rawData.equals(other.rawData);
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * (31 * site.hashCode() + statusCode) + rawData.hashCode();
+    }
+
+    @Override
+    public String toString(){
+        return String.format("SiteListing{site=%s, statusCode=%d}", site, statusCode);
+    }
+
+    static String encode(Object value){
+        if(value == null || JSONObject.NULL.equals(value))
+            return "null";
+        if(value instanceof String)
+            return JSONObject.quote((String)value);
+
+        return value.toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads without requiring Java 21 at compile time.
+ * <br>The executor is looked up through reflection, so that the library keeps running on Java 8 and simply falls
+ * back to platform threads when virtual threads aren't available.
+ */
+final class VirtualThreads{
+    private static final Method NEW_EXECUTOR = findExecutorFactory();
+
+    private VirtualThreads(){}
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task, or returns null if virtual threads
+     * aren't available on the running Java version.
+     */
+    static ExecutorService newExecutor(){
+        if(NEW_EXECUTOR == null)
+            return null;
+
+        try{
+            return (ExecutorService)NEW_EXECUTOR.invoke(null);
+        }catch(ReflectiveOperationException ex){
+            return null;
+        }
+    }
+
+    private static Method findExecutorFactory(){
+        try{
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }catch(NoSuchMethodException ex){
+            return null;
+        }
+    }
+}
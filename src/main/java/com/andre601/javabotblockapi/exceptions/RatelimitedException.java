@@ -30,14 +30,68 @@ public class RatelimitedException extends Throwable{
     private String route;
 
     public RatelimitedException(String response){
-        JSONObject json = new JSONObject(response);
+        this(new JSONObject(response));
+    }
 
+    /**
+     * Creates the exception from the already parsed response of the BotBlock API.
+     *
+     * @param json
+     *        The JSONObject of the response.
+     *
+     * @since v2.0.0
+     */
+    public RatelimitedException(JSONObject json){
         this.delay = json.getInt("retry_after");
         this.bot_id = json.getString("ratelimit_bot_id");
         this.ip = json.getString("ratelimit_ip");
         this.route = json.getString("ratelimit_route");
     }
 
+    /**
+     * Gets the delay in seconds after which requests can be send again.
+     *
+     * @return The delay in seconds.
+     *
+     * @since v2.0.0
+     */
+    public int getDelay(){
+        return delay;
+    }
+
+    /**
+     * Gets the id of the bot that got ratelimited.
+     *
+     * @return The id of the bot.
+     *
+     * @since v2.0.0
+     */
+    public String getBotId(){
+        return bot_id;
+    }
+
+    /**
+     * Gets the IP that got ratelimited.
+     *
+     * @return The IP.
+     *
+     * @since v2.0.0
+     */
+    public String getIp(){
+        return ip;
+    }
+
+    /**
+     * Gets the route on which the bot got ratelimited.
+     *
+     * @return The route.
+     *
+     * @since v2.0.0
+     */
+    public String getRoute(){
+        return route;
+    }
+
     /**
      * Gives the exception message.
      *
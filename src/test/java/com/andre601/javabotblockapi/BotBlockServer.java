@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * MockWebServer that stands in for the BotBlock API, together with a temporary folder for the files of a test.
+ */
+final class BotBlockServer implements Closeable{
+    static final String SUCCESS = "{\"success\":{\"lbots.org\":[200,\"OK\"]},\"failure\":{}}";
+    static final String FAILURE = "{\"success\":{},\"failure\":{\"lbots.org\":[500,\"Error\"]}}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Path folder;
+
+    BotBlockServer() throws IOException{
+        server.start();
+        folder = Files.createTempDirectory("javabotblockapi");
+    }
+
+    /*
+     * Builder of a RequestHandler that talks to this server and retries without any noticeable delay.
+     */
+    RequestHandler.Builder builder(){
+        RetryPolicy retryPolicy = new RetryPolicy.Builder()
+                .setMaxAttempts(3)
+                .setBaseDelay(1, TimeUnit.MILLISECONDS)
+                .setMaxDelay(10, TimeUnit.MILLISECONDS)
+                .build();
+
+        return new RequestHandler.Builder()
+                .setBaseUrl(server.url("/api/").toString())
+                .setRetryPolicy(retryPolicy);
+    }
+
+    String url(String path){
+        return server.url(path).toString();
+    }
+
+    void enqueue(int code, String body){
+        server.enqueue(new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body));
+    }
+
+    void enqueue(MockResponse response){
+        server.enqueue(response);
+    }
+
+    RecordedRequest takeRequest() throws InterruptedException{
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request, "No request was received.");
+
+        return request;
+    }
+
+    int getRequestCount(){
+        return server.getRequestCount();
+    }
+
+    File file(String name){
+        return folder.resolve(name).toFile();
+    }
+
+    /*
+     * Waits for work that happens in the background after a future completed.
+     */
+    static void await(BooleanSupplier condition, String message) throws InterruptedException{
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(!condition.getAsBoolean() && System.nanoTime() - deadline < 0)
+            Thread.sleep(10);
+
+        assertTrue(condition.getAsBoolean(), message);
+    }
+
+    @Override
+    public void close() throws IOException{
+        server.shutdown();
+
+        File[] files = folder.toFile().listFiles();
+        if(files != null)
+            for(File file : files)
+                Files.deleteIfExists(file.toPath());
+
+        Files.deleteIfExists(folder);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotInfoPollerTest{
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp(){
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown(){
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void reportsChangedAndRemovedSites() throws InterruptedException{
+        BotInfoChange change = watch(
+                "{\"lbots.org\":[{\"a\":1},200],\"other.org\":[{\"b\":1},200],\"gone.org\":[null,404]}",
+                "{\"lbots.org\":[{\"a\":2},200],\"other.org\":[{\"b\":1},200],\"new.org\":[{\"c\":1},200]}"
+        );
+
+        assertEquals(new HashSet<>(Arrays.asList("lbots.org", "new.org")), change.getChangedSites().keySet());
+        assertEquals(Collections.singleton("gone.org"), change.getRemovedSites());
+
+        SiteListing listing = change.getChangedSites().get("lbots.org");
+        assertEquals(200, listing.getStatusCode());
+        assertEquals("{\"a\":2}", listing.getRawData());
+    }
+
+    @Test
+    void reportsEntriesInOtherFormats() throws InterruptedException{
+        BotInfoChange change = watch(
+                "{\"array.org\":[{\"a\":1},200],\"object.org\":{\"a\":1},\"text.org\":\"up\"}",
+                "{\"array.org\":\"down\",\"object.org\":[{\"a\":1},200],\"text.org\":{\"a\":1}}"
+        );
+
+        assertEquals(new HashSet<>(Arrays.asList("array.org", "object.org", "text.org")), change.getChangedSites().keySet());
+        assertTrue(change.getRemovedSites().isEmpty());
+
+        assertEquals("down", change.getChangedSites().get("array.org").toJson());
+        assertEquals(200, change.getChangedSites().get("object.org").getStatusCode());
+        assertEquals(1, ((JSONObject)change.getChangedSites().get("text.org").toJson()).getInt("a"));
+    }
+
+    /*
+     * Polls the first listings, then only the second ones, and returns the first change that was reported.
+     */
+    private BotInfoChange watch(String first, String second) throws InterruptedException{
+        AtomicInteger polls = new AtomicInteger();
+        BotInfoPoller poller = new BotInfoPoller(
+                "123",
+                () -> CompletableFuture.completedFuture(BotInfo.of(new JSONObject()
+                        .put("id", "123")
+                        .put("list_data", new JSONObject(polls.getAndIncrement() == 0 ? first : second)))),
+                scheduler,
+                Runnable::run,
+                () -> {}
+        );
+
+        BlockingQueue<BotInfoChange> changes = new LinkedBlockingQueue<>();
+        assertNotNull(poller.subscribe(changes::add, TimeUnit.MILLISECONDS.toNanos(10)));
+
+        BotInfoChange change = changes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(change, "No change was reported.");
+        assertEquals("123", change.getBotId());
+
+        poller.close();
+        return change;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotInfoTest{
+    private static final String JSON = "{\"id\":\"123\",\"username\":\"Bot\",\"discriminator\":\"0001\","
+            + "\"owners\":[\"456\"],\"server_count\":10,\"invite\":\"https://discord.gg/abc\","
+            + "\"list_data\":{\"lbots.org\":[{\"votes\":5},200],\"other.org\":[null,404]},\"library\":\"JDA\"}";
+
+    @Test
+    void decodesFields(){
+        BotInfo botInfo = BotInfo.of(new JSONObject(JSON));
+
+        assertEquals("123", botInfo.getId());
+        assertEquals("Bot", botInfo.getUsername());
+        assertEquals("0001", botInfo.getDiscriminator());
+        assertEquals(Arrays.asList("456"), botInfo.getOwners());
+        assertEquals(10, botInfo.getServerCount());
+        assertEquals("https://discord.gg/abc", botInfo.getInvite());
+
+        assertEquals(2, botInfo.getListings().size());
+        assertEquals(200, botInfo.getListing("lbots.org").getStatusCode());
+        assertEquals(404, botInfo.getListing("other.org").getStatusCode());
+        assertNull(botInfo.getListing("other.org").getData());
+    }
+
+    @Test
+    void returnsWhatWasSent(){
+        JSONObject json = new JSONObject(JSON);
+        BotInfo botInfo = BotInfo.of(json);
+
+        assertTrue(json.similar(botInfo.toJson()), botInfo.toJson().toString());
+        assertEquals(botInfo, BotInfo.of(botInfo.toJson()));
+    }
+
+    @Test
+    void keepsFieldsOfUnexpectedType(){
+        JSONObject json = new JSONObject()
+                .put("id", "123")
+                .put("server_count", "many")
+                .put("owners", new JSONArray().put(456));
+
+        BotInfo botInfo = BotInfo.of(json);
+        assertEquals(-1, botInfo.getServerCount());
+        assertTrue(json.similar(botInfo.toJson()), botInfo.toJson().toString());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotlistCatalogTest{
+    private static final String LISTS = "{"
+            + "\"lbots.org\":{\"api_post\":\"https://lbots.org/api/:id\",\"api_field\":\"guild_count\","
+            + "\"api_shards\":\"shards\",\"api_get\":null},"
+            + "\"other.org\":{\"api_post\":\"https://other.org/api/:id\",\"api_field\":\"server_count\","
+            + "\"api_get\":\"https://other.org/bot/:id\"},"
+            + "\"broken.org\":\"text\"}";
+
+    private BotBlockServer server;
+
+    @BeforeEach
+    void setUp() throws IOException{
+        server = new BotBlockServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException{
+        server.close();
+    }
+
+    @Test
+    void indexesCapabilities() throws IOException{
+        BotlistCatalog catalog = new BotlistCatalog(null);
+        assertFalse(catalog.isLoaded());
+        assertTrue(catalog.getNames().isEmpty());
+        assertNull(catalog.getSites());
+
+        catalog.update(new JSONObject(LISTS), null, null);
+
+        assertTrue(catalog.isLoaded());
+        assertEquals(new HashSet<>(Arrays.asList("lbots.org", "other.org")), catalog.getNames());
+        assertEquals(new HashSet<>(Arrays.asList("lbots.org", "other.org")), catalog.getNames(BotlistCatalog.Capability.POST));
+        assertEquals(Collections.singleton("lbots.org"), catalog.getNames(BotlistCatalog.Capability.SHARDS));
+        assertEquals(Collections.singleton("other.org"), catalog.getNames(BotlistCatalog.Capability.GET));
+        assertTrue(catalog.getNames(BotlistCatalog.Capability.SHARD_ID).isEmpty());
+
+        assertEquals("guild_count", catalog.getSite("lbots.org").getApiField());
+        assertNull(catalog.getSite("broken.org"));
+    }
+
+    @Test
+    void handsOutCopies() throws IOException{
+        BotlistCatalog catalog = new BotlistCatalog(null);
+        catalog.update(new JSONObject(LISTS), null, null);
+
+        catalog.getBotlist("lbots.org").put("api_field", "changed");
+        catalog.getBotlists().remove("other.org");
+
+        assertEquals("guild_count", catalog.getBotlist("lbots.org").getString("api_field"));
+        assertTrue(catalog.getBotlists().has("other.org"));
+    }
+
+    @Test
+    void savesAndLoadsSnapshot() throws IOException{
+        File file = server.file("catalog.json");
+        new BotlistCatalog(file).update(new JSONObject(LISTS), "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+
+        BotlistCatalog catalog = new BotlistCatalog(file);
+        catalog.load();
+
+        assertTrue(catalog.isLoaded());
+        assertEquals("\"v1\"", catalog.getEtag());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", catalog.getLastModified());
+        assertTrue(new JSONObject(LISTS).similar(catalog.getBotlists()));
+    }
+
+    @Test
+    void rejectsBrokenFile() throws IOException{
+        File file = server.file("catalog.json");
+        Files.write(file.toPath(), "{\"lists\":".getBytes(StandardCharsets.UTF_8));
+
+        BotlistCatalog catalog = new BotlistCatalog(file);
+        assertThrows(IOException.class, catalog::load);
+        assertFalse(catalog.isLoaded());
+    }
+
+    @Test
+    void revalidatesLoadedSnapshot() throws Exception, RatelimitedException{
+        File file = server.file("catalog.json");
+        new BotlistCatalog(file).update(new JSONObject(LISTS), "\"v1\"", null);
+
+        server.enqueue(new MockResponse().setResponseCode(304));
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        RequestHandler handler = server.builder()
+                .enableBotlistCatalog(file, 1, TimeUnit.HOURS)
+                .setMetricsRecorder(metrics)
+                .build();
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/api/lists", request.getPath());
+        assertEquals("\"v1\"", request.getHeader("If-None-Match"));
+
+        BotBlockServer.await(() -> metrics.snapshot().getStats(MetricsRecorder.Endpoint.LISTS).getRequests() == 1,
+                "The refresh didn't complete.");
+        assertEquals(0, metrics.snapshot().getStats(MetricsRecorder.Endpoint.LISTS).getFailures());
+
+        // The unchanged botlists are served from the snapshot in the file.
+        assertEquals("guild_count", handler.getSites().get("lbots.org").getApiField());
+        assertEquals(1, server.getRequestCount());
+
+        handler.shutdown();
+    }
+}
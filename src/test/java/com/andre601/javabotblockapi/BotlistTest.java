@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotlistTest{
+    @Test
+    void decodesFields(){
+        Botlist botlist = Botlist.of("lbots.org", new JSONObject()
+                .put("api_docs", "https://lbots.org/docs")
+                .put("api_post", "https://lbots.org/api/:id")
+                .put("api_field", "guild_count")
+                .put("api_shard_id", JSONObject.NULL));
+
+        assertEquals("lbots.org", botlist.getName());
+        assertEquals("https://lbots.org/docs", botlist.getApiDocs());
+        assertEquals("https://lbots.org/api/:id", botlist.getApiPost());
+        assertEquals("guild_count", botlist.getApiField());
+        assertNull(botlist.getApiShardId());
+        assertNull(botlist.getApiGet());
+
+        assertTrue(botlist.supports(BotlistCatalog.Capability.POST));
+        assertFalse(botlist.supports(BotlistCatalog.Capability.SHARD_ID));
+        assertFalse(botlist.supports(BotlistCatalog.Capability.GET));
+    }
+
+    @Test
+    void returnsWhatWasSent(){
+        JSONObject json = new JSONObject()
+                .put("api_post", "https://lbots.org/api/:id")
+                .put("api_shard_id", JSONObject.NULL)
+                .put("api_field", 5)
+                .put("owner", "Andre_601");
+
+        Botlist botlist = Botlist.of("lbots.org", json);
+        assertNull(botlist.getApiField());
+        assertTrue(json.similar(botlist.toJson()), botlist.toJson().toString());
+
+        assertEquals(botlist, Botlist.of("lbots.org", new JSONObject(json.toString())));
+        assertEquals(botlist.hashCode(), Botlist.of("lbots.org", new JSONObject(json.toString())).hashCode());
+    }
+
+    @Test
+    void skipsEntriesThatArentObjects(){
+        Map<String, Botlist> botlists = Botlist.ofAll(new JSONObject()
+                .put("lbots.org", new JSONObject().put("api_post", "https://lbots.org/api/:id"))
+                .put("broken.org", "text"));
+
+        assertEquals(1, botlists.size());
+        assertEquals("https://lbots.org/api/:id", botlists.get("lbots.org").getApiPost());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkLookupTest{
+    private static final String RATELIMITED = "{\"retry_after\":0,\"ratelimit_bot_id\":\"1\","
+            + "\"ratelimit_ip\":\"127.0.0.1\",\"ratelimit_route\":\"bots\"}";
+
+    private final Map<String, CompletableFuture<BotInfo>> lookups = new ConcurrentHashMap<>();
+    private final List<String> looked = Collections.synchronizedList(new ArrayList<>());
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp(){
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown(){
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void limitsConcurrentLookups() throws Exception{
+        CompletableFuture<BulkResult> future = lookup(Arrays.asList("1", "2", "3", "2"), 2, 0).start();
+        assertEquals(Arrays.asList("1", "2"), looked);
+
+        succeed("1");
+        assertEquals(Arrays.asList("1", "2", "3"), looked);
+
+        succeed("2");
+        succeed("3");
+
+        BulkResult result = future.get(5, TimeUnit.SECONDS);
+        assertTrue(result.isSuccessful());
+        assertEquals(3, result.getResults().size());
+        assertEquals("3", result.getResult("3").getId());
+    }
+
+    @Test
+    void retriesRatelimitedLookups() throws Exception{
+        CompletableFuture<BulkResult> future = lookup(Collections.singletonList("1"), 1, 0).start();
+
+        lookups.remove("1").completeExceptionally(new RatelimitedException(RATELIMITED));
+        BotBlockServer.await(() -> lookups.containsKey("1"), "Ratelimited id wasn't looked up again.");
+
+        succeed("1");
+        assertTrue(future.get(5, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(Arrays.asList("1", "1"), looked);
+    }
+
+    @Test
+    void listsFailedLookups() throws Exception{
+        List<BulkResult.Entry> entries = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<BulkResult> future = new BulkLookup(Arrays.asList("1", "2"), this::fetch, scheduler, 2, 0,
+                entries::add).start();
+
+        lookups.get("1").completeExceptionally(new IllegalStateException("Broken"));
+        succeed("2");
+
+        BulkResult result = future.get(5, TimeUnit.SECONDS);
+        assertFalse(result.isSuccessful());
+        assertTrue(result.getFailures().get("1") instanceof IllegalStateException);
+        assertEquals(2, entries.size());
+    }
+
+    @Test
+    void failsWaitingLookupsAfterShutdown() throws Exception{
+        scheduler.shutdown();
+
+        // The spacing keeps the other ids waiting for the scheduler, which doesn't accept them anymore.
+        CompletableFuture<BulkResult> future = lookup(Arrays.asList("1", "2", "3"), 1, TimeUnit.HOURS.toNanos(1)).start();
+        assertEquals(Collections.singletonList("1"), looked);
+
+        succeed("1");
+
+        BulkResult result = future.get(5, TimeUnit.SECONDS);
+        assertEquals(Collections.singleton("1"), result.getResults().keySet());
+        assertEquals(new HashSet<>(Arrays.asList("2", "3")), result.getFailures().keySet());
+        assertTrue(result.getFailures().get("2") instanceof RejectedExecutionException);
+    }
+
+    private BulkLookup lookup(Collection<String> ids, int maxConcurrency, long spacing){
+        return new BulkLookup(ids, this::fetch, scheduler, maxConcurrency, spacing, null);
+    }
+
+    private CompletableFuture<BotInfo> fetch(String id){
+        looked.add(id);
+
+        CompletableFuture<BotInfo> future = new CompletableFuture<>();
+        lookups.put(id, future);
+        return future;
+    }
+
+    private void succeed(String id){
+        lookups.remove(id).complete(BotInfo.of(new JSONObject().put("id", id)));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest{
+    @Test
+    void opensAfterThreshold(){
+        CircuitBreaker breaker = new CircuitBreaker(2, TimeUnit.MINUTES.toNanos(1));
+
+        breaker.recordFailure();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+        assertFalse(breaker.tryAcquire());
+        assertTrue(breaker.getRemainingSeconds() > 0);
+    }
+
+    @Test
+    void countsConsecutiveFailuresOnly(){
+        CircuitBreaker breaker = new CircuitBreaker(2, TimeUnit.MINUTES.toNanos(1));
+
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void letsSingleProbeThrough() throws InterruptedException{
+        CircuitBreaker breaker = new CircuitBreaker(1, TimeUnit.MILLISECONDS.toNanos(10));
+        breaker.recordFailure();
+
+        Thread.sleep(20);
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.recordSuccess();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void reopensAfterFailedProbe() throws InterruptedException{
+        CircuitBreaker breaker = new CircuitBreaker(3, TimeUnit.MILLISECONDS.toNanos(10));
+        for(int i = 0; i < 3; i++)
+            breaker.recordFailure();
+
+        Thread.sleep(20);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+        assertFalse(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountPayloadTest{
+    private static final AuthTokens TOKENS;
+
+    static{
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("lbots.org", "token");
+        tokens.put("site\"with\\quotes", "t\u00f6ken\n");
+        TOKENS = new AuthTokens(tokens);
+    }
+
+    @Test
+    void writesCountsAndTokens(){
+        JSONObject json = parse(CountPayload.of("123", 42, TOKENS));
+
+        assertEquals(4, json.length());
+        assertEquals(42, json.getInt("server_count"));
+        assertEquals("123", json.getString("bot_id"));
+        assertEquals("token", json.getString("lbots.org"));
+        assertEquals("t\u00f6ken\n", json.getString("site\"with\\quotes"));
+    }
+
+    @Test
+    void writesShard(){
+        JSONObject json = parse(CountPayload.ofShard("123", 42, 3, 10, AuthTokens.EMPTY));
+
+        assertEquals(4, json.length());
+        assertEquals(3, json.getInt("shard_id"));
+        assertEquals(10, json.getInt("shard_count"));
+    }
+
+    @Test
+    void writesShards(){
+        int[] shards = {0, 7, 10, 99, 100, 12345, Integer.MAX_VALUE};
+        JSONObject json = parse(CountPayload.ofShards("123", 1, shards, TOKENS));
+
+        assertEquals(shards.length, json.getInt("shard_count"));
+        assertArrayEquals(shards, toArray(json.getJSONArray("shards")));
+        assertFalse(json.has("shard_id"));
+        assertEquals("token", json.getString("lbots.org"));
+    }
+
+    @Test
+    void writesNegativeNumbers(){
+        int[] shards = {-1, -10, Integer.MIN_VALUE};
+        JSONObject json = parse(CountPayload.ofShards("123", Integer.MIN_VALUE, shards, AuthTokens.EMPTY));
+
+        assertEquals(Integer.MIN_VALUE, json.getInt("server_count"));
+        assertArrayEquals(shards, toArray(json.getJSONArray("shards")));
+    }
+
+    @Test
+    void writesEmptyShards(){
+        JSONObject json = parse(CountPayload.ofShards("123", 0, new int[0], AuthTokens.EMPTY));
+
+        assertEquals(0, json.getInt("shard_count"));
+        assertEquals(0, json.getJSONArray("shards").length());
+    }
+
+    @Test
+    void escapesBotId(){
+        JSONObject json = parse(CountPayload.of("1\"2\\3\u00e9", 1, AuthTokens.EMPTY));
+
+        assertEquals("1\"2\\3\u00e9", json.getString("bot_id"));
+    }
+
+    @Test
+    void writesExactlyTheBody(){
+        byte[] body = CountPayload.of("123", 42, AuthTokens.EMPTY).toJsonBytes();
+
+        assertEquals("{\"server_count\":42,\"bot_id\":\"123\"}", new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsCountJsonWithoutTokens(){
+        CountPayload payload = CountPayload.ofShards("123", 5, new int[]{2, 3}, TOKENS);
+        String json = payload.toCountJsonString();
+
+        assertFalse(json.contains("lbots.org"));
+
+        CountPayload read = CountPayload.fromCountJson(new JSONObject(json), AuthTokens.EMPTY);
+        assertTrue(payload.hasSameCounts(read));
+        assertTrue(read.getAuthTokens().isEmpty());
+    }
+
+    @Test
+    void writesSiteJsonWithOnlyKnownFields(){
+        CountPayload payload = CountPayload.ofShards("123", 5, new int[]{2, 3}, AuthTokens.EMPTY);
+
+        JSONObject json = new JSONObject(payload.toSiteJsonString("guilds", null, "shardCount", null));
+        assertEquals(2, json.length());
+        assertEquals(5, json.getInt("guilds"));
+        assertEquals(2, json.getInt("shardCount"));
+
+        json = new JSONObject(payload.toSiteJsonString("guilds", null, null, "shards"));
+        assertArrayEquals(new int[]{2, 3}, toArray(json.getJSONArray("shards")));
+    }
+
+    private static JSONObject parse(CountPayload payload){
+        return new JSONObject(new String(payload.toJsonBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static int[] toArray(JSONArray array){
+        int[] values = new int[array.length()];
+        for(int i = 0; i < values.length; i++)
+            values[i] = array.getInt(i);
+
+        return values;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaTrackerTest{
+    @Test
+    void postsUntilFirstSuccess(){
+        DeltaTracker tracker = new DeltaTracker(5);
+        CountPayload payload = CountPayload.of("123", 10, AuthTokens.EMPTY);
+
+        assertTrue(tracker.shouldPost(payload));
+        assertTrue(tracker.shouldPost(payload));
+    }
+
+    @Test
+    void skipsUnchangedCounts(){
+        DeltaTracker tracker = new DeltaTracker(5);
+        tracker.recordSuccess(CountPayload.of("123", 10, AuthTokens.EMPTY));
+
+        assertFalse(tracker.shouldPost(CountPayload.of("123", 10, AuthTokens.EMPTY)));
+        assertTrue(tracker.shouldPost(CountPayload.of("123", 11, AuthTokens.EMPTY)));
+        assertTrue(tracker.shouldPost(CountPayload.ofShard("123", 10, 0, 2, AuthTokens.EMPTY)));
+    }
+
+    @Test
+    void postsHeartbeat(){
+        DeltaTracker tracker = new DeltaTracker(3);
+        CountPayload payload = CountPayload.of("123", 10, AuthTokens.EMPTY);
+        tracker.recordSuccess(payload);
+
+        assertFalse(tracker.shouldPost(payload));
+        assertFalse(tracker.shouldPost(payload));
+        assertTrue(tracker.shouldPost(payload));
+
+        // Only a successful post resets the heartbeat.
+        assertTrue(tracker.shouldPost(payload));
+
+        tracker.recordSuccess(payload);
+        assertFalse(tracker.shouldPost(payload));
+    }
+
+    @Test
+    void ignoresTokens(){
+        DeltaTracker tracker = new DeltaTracker(5);
+        tracker.recordSuccess(CountPayload.of("123", 10, AuthTokens.EMPTY));
+
+        AuthTokens tokens = new AuthTokens(Collections.singletonMap("lbots.org", "token"));
+        assertFalse(tracker.shouldPost(CountPayload.of("123", 10, tokens)));
+    }
+
+    @Test
+    void tracksBotsSeparately(){
+        DeltaTracker tracker = new DeltaTracker(5);
+        tracker.recordSuccess(CountPayload.of("123", 10, AuthTokens.EMPTY));
+
+        assertTrue(tracker.shouldPost(CountPayload.of("456", 10, AuthTokens.EMPTY)));
+    }
+
+    @Test
+    void tracksShardsSeparately(){
+        DeltaTracker tracker = new DeltaTracker(3);
+        CountPayload first = CountPayload.ofShard("123", 10, 0, 2, AuthTokens.EMPTY);
+        CountPayload second = CountPayload.ofShard("123", 20, 1, 2, AuthTokens.EMPTY);
+        tracker.recordSuccess(first);
+        tracker.recordSuccess(second);
+
+        // Each shard is skipped and gets its heartbeat on its own.
+        assertFalse(tracker.shouldPost(first));
+        assertFalse(tracker.shouldPost(second));
+        assertFalse(tracker.shouldPost(first));
+        assertFalse(tracker.shouldPost(second));
+        assertTrue(tracker.shouldPost(first));
+        assertTrue(tracker.shouldPost(second));
+    }
+}
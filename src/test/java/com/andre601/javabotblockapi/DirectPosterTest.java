@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectPosterTest{
+    private final OkHttpClient client = new OkHttpClient();
+
+    private MockWebServer server;
+    private DirectPoster poster;
+
+    @BeforeEach
+    void setUp() throws IOException{
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher(){
+            @Override
+            public MockResponse dispatch(RecordedRequest request){
+                // Bot 429 is always ratelimited.
+                if(request.getPath().endsWith("/429"))
+                    return new MockResponse().setResponseCode(429).setHeader("Retry-After", "60");
+
+                return new MockResponse().setResponseCode(200).setBody("OK");
+            }
+        });
+        server.start();
+
+        Map<String, Botlist> botlists = new HashMap<>();
+        botlists.put("a.org", Botlist.of("a.org", new JSONObject()
+                .put("api_post", server.url("/a/:id").toString())
+                .put("api_field", "guilds")));
+        botlists.put("b.org", Botlist.of("b.org", new JSONObject()
+                .put("api_post", server.url("/b/:id").toString())
+                .put("api_field", "server_count")
+                .put("api_shard_count", "shards")));
+        botlists.put("c.org", Botlist.of("c.org", new JSONObject()
+                .put("api_post", JSONObject.NULL)));
+
+        poster = new DirectPoster(client, () -> CompletableFuture.completedFuture(botlists), new InMemoryMetrics());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException{
+        server.shutdown();
+        client.dispatcher().executorService().shutdown();
+    }
+
+    @Test
+    void postsToEverySite() throws Exception{
+        Map<String, String> tokens = new HashMap<>();
+        tokens.put("a.org", "token-a");
+        tokens.put("b.org", "token-b");
+        tokens.put("c.org", "token-c");
+        tokens.put("unknown.org", "token-d");
+
+        PostResult result = post(CountPayload.ofShard("123", 10, 0, 2, new AuthTokens(tokens)));
+        assertEquals(2, result.getSucceededSites().size());
+        assertTrue(result.getSite("a.org").isSuccess());
+        assertTrue(result.getSite("b.org").isSuccess());
+        assertEquals(-1, result.getSite("c.org").getCode());
+        assertEquals(-1, result.getSite("unknown.org").getCode());
+        assertEquals(2, server.getRequestCount());
+
+        for(int i = 0; i < 2; i++){
+            RecordedRequest request = server.takeRequest();
+            JSONObject body = new JSONObject(request.getBody().readUtf8());
+            assertEquals("123", request.getHeader("User-Agent"));
+
+            if(request.getPath().equals("/a/123")){
+                assertEquals("token-a", request.getHeader("Authorization"));
+                assertEquals(1, body.length());
+                assertEquals(10, body.getInt("guilds"));
+            }else{
+                assertEquals("/b/123", request.getPath());
+                assertEquals("token-b", request.getHeader("Authorization"));
+                assertEquals(2, body.length());
+                assertEquals(10, body.getInt("server_count"));
+                assertEquals(2, body.getInt("shards"));
+            }
+        }
+    }
+
+    @Test
+    void ratelimitsEachBotOnItsOwn() throws Exception{
+        AuthTokens tokens = new AuthTokens(Collections.singletonMap("a.org", "token"));
+
+        PostResult result = post(CountPayload.of("429", 10, tokens));
+        assertEquals(429, result.getSite("a.org").getCode());
+        assertEquals(1, server.getRequestCount());
+
+        // The site isn't asked again while the bot is ratelimited.
+        result = post(CountPayload.of("429", 11, tokens));
+        assertEquals(429, result.getSite("a.org").getCode());
+        assertEquals(1, server.getRequestCount());
+
+        // Other bots can still post to the site.
+        result = post(CountPayload.of("123", 10, tokens));
+        assertTrue(result.isSuccessful());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private PostResult post(CountPayload payload) throws Exception{
+        return poster.post(payload).get(5, TimeUnit.SECONDS);
+    }
+}
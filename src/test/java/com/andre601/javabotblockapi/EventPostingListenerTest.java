@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import net.dv8tion.jda.api.events.ResumedEvent;
+import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPostingListenerTest{
+    private final List<CountPayload> posts = new CopyOnWriteArrayList<>();
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp(){
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown(){
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void postsBurstOfEventsOnce() throws InterruptedException{
+        EventPostingListener listener = listener(flushes::incrementAndGet);
+
+        listener.onEvent(new GuildJoinEvent(null, 1, null));
+        listener.onEvent(new GuildJoinEvent(null, 2, null));
+        listener.onEvent(new GuildLeaveEvent(null, 3, null));
+
+        BotBlockServer.await(() -> posts.size() == 1, "Events weren't posted.");
+
+        // The next post has to wait for the ratelimit of BotBlock.
+        listener.onEvent(new GuildJoinEvent(null, 4, null));
+        Thread.sleep(200);
+        assertEquals(1, posts.size());
+
+        listener.close();
+    }
+
+    @Test
+    void flushesOutboxOnce() throws InterruptedException{
+        EventPostingListener listener = listener(flushes::incrementAndGet);
+
+        listener.onEvent(new ResumedEvent(null, 1));
+        listener.onEvent(new ResumedEvent(null, 2));
+        assertEquals(1, flushes.get());
+
+        // Resuming alone doesn't change the guild count.
+        Thread.sleep(200);
+        assertTrue(posts.isEmpty());
+    }
+
+    @Test
+    void flushesAgainAfterFailure(){
+        EventPostingListener listener = listener(() -> {
+            if(flushes.incrementAndGet() == 1)
+                throw new IllegalStateException("Not ready yet.");
+        });
+
+        listener.onEvent(new ResumedEvent(null, 1));
+        listener.onEvent(new ResumedEvent(null, 2));
+        listener.onEvent(new ResumedEvent(null, 3));
+        assertEquals(2, flushes.get());
+    }
+
+    @Test
+    void ignoresEventsAfterClose() throws InterruptedException{
+        EventPostingListener listener = listener(null);
+        listener.onEvent(new GuildJoinEvent(null, 1, null));
+        listener.close();
+
+        listener.onEvent(new GuildJoinEvent(null, 2, null));
+        Thread.sleep(200);
+        assertTrue(posts.isEmpty());
+    }
+
+    private EventPostingListener listener(Runnable flusher){
+        return new EventPostingListener(
+                scheduler,
+                () -> CountPayload.of("123", posts.size(), AuthTokens.EMPTY),
+                payload -> {
+                    posts.add(payload);
+                    return CompletableFuture.completedFuture(null);
+                },
+                TimeUnit.MILLISECONDS.toNanos(50),
+                flusher
+        );
+    }
+}
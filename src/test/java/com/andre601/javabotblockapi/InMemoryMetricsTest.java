@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryMetricsTest{
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void countsRequests(){
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        metrics.recordRequest(MetricsRecorder.Endpoint.COUNT, 10 * MILLIS, true);
+        metrics.recordRequest(MetricsRecorder.Endpoint.COUNT, 30 * MILLIS, false);
+        metrics.recordRatelimit(MetricsRecorder.Endpoint.COUNT, 120);
+
+        MetricsSnapshot.EndpointStats stats = metrics.snapshot().getStats(MetricsRecorder.Endpoint.COUNT);
+        assertEquals(2, stats.getRequests());
+        assertEquals(1, stats.getFailures());
+        assertEquals(1, stats.getRatelimits());
+        assertEquals(120, stats.getTotalRetryAfter());
+        assertEquals(20, stats.getMeanLatency(TimeUnit.MILLISECONDS));
+        assertEquals(30, stats.getMaxLatency(TimeUnit.MILLISECONDS));
+
+        assertEquals(0, metrics.snapshot().getStats(MetricsRecorder.Endpoint.BOTS).getRequests());
+    }
+
+    @Test
+    void estimatesPercentiles(){
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        for(int i = 0; i < 98; i++)
+            metrics.recordRequest(MetricsRecorder.Endpoint.BOTS, MILLIS, true);
+        metrics.recordRequest(MetricsRecorder.Endpoint.BOTS, 400 * MILLIS, true);
+        metrics.recordRequest(MetricsRecorder.Endpoint.BOTS, 20000 * MILLIS, true);
+
+        MetricsSnapshot.EndpointStats stats = metrics.snapshot().getStats(MetricsRecorder.Endpoint.BOTS);
+        assertEquals(1, stats.getLatencyPercentile(50));
+        assertEquals(500, stats.getLatencyPercentile(99));
+
+        // Requests slower than the biggest bucket are reported with the max latency.
+        assertEquals(20000, stats.getLatencyPercentile(100));
+
+        assertThrows(IllegalArgumentException.class, () -> stats.getLatencyPercentile(101));
+        assertEquals(0, metrics.snapshot().getStats(MetricsRecorder.Endpoint.COUNT).getLatencyPercentile(99));
+    }
+
+    @Test
+    void countsSiteFailures(){
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        metrics.recordSiteFailure("lbots.org");
+        metrics.recordSiteFailure("lbots.org");
+        metrics.recordSiteFailure("other.org");
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(Long.valueOf(2), snapshot.getSiteFailures().get("lbots.org"));
+        assertEquals(Long.valueOf(1), snapshot.getSiteFailures().get("other.org"));
+
+        // Snapshots don't change afterwards.
+        metrics.recordSiteFailure("other.org");
+        assertEquals(Long.valueOf(1), snapshot.getSiteFailures().get("other.org"));
+    }
+
+    @Test
+    void recordsRequestsOfHandler() throws Exception, RatelimitedException{
+        try(BotBlockServer server = new BotBlockServer()){
+            server.enqueue(200, BotBlockServer.FAILURE);
+            InMemoryMetrics metrics = new InMemoryMetrics();
+            RequestHandler handler = server.builder().setMetricsRecorder(metrics).build();
+
+            BotBlockAPI api = new BotBlockAPI(Collections.singletonMap("lbots.org", "token"));
+            assertFalse(handler.postGuilds("123", 10, api).isSuccessful());
+
+            MetricsSnapshot snapshot = metrics.snapshot();
+            assertEquals(1, snapshot.getStats(MetricsRecorder.Endpoint.COUNT).getRequests());
+            assertEquals(0, snapshot.getStats(MetricsRecorder.Endpoint.COUNT).getFailures());
+            assertEquals(Collections.singletonMap("lbots.org", 1L), snapshot.getSiteFailures());
+
+            handler.shutdown();
+        }
+    }
+}
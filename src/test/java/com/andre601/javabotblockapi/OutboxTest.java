@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxTest{
+    private Path folder;
+    private File file;
+
+    @BeforeEach
+    void setUp() throws IOException{
+        folder = Files.createTempDirectory("javabotblockapi");
+        file = folder.resolve("outbox").toFile();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException{
+        Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(folder);
+    }
+
+    @Test
+    void staysSmallWhilePostsKeepFailing() throws IOException{
+        Outbox outbox = new Outbox(file);
+        int posts = Outbox.MAX_STALE_LINES * 10;
+
+        // A failing post is never completed, so only newer posts replace it.
+        for(int i = 0; i < posts; i++){
+            outbox.record(CountPayload.of("123", i, AuthTokens.EMPTY));
+            assertTrue(lines() <= Outbox.MAX_STALE_LINES, "Outbox grew to " + lines() + " lines.");
+        }
+
+        Outbox loaded = new Outbox(file);
+        loaded.load();
+
+        List<CountPayload> pending = loaded.getPending("123");
+        assertEquals(1, pending.size());
+        assertTrue(pending.get(0).hasSameCounts(CountPayload.of("123", posts - 1, AuthTokens.EMPTY)));
+    }
+
+    @Test
+    void keepsShardsApart() throws IOException{
+        Outbox outbox = new Outbox(file);
+        outbox.record(CountPayload.ofShard("123", 10, 0, 2, AuthTokens.EMPTY));
+        outbox.record(CountPayload.ofShard("123", 20, 1, 2, AuthTokens.EMPTY));
+        outbox.record(CountPayload.of("456", 30, AuthTokens.EMPTY));
+
+        Outbox loaded = new Outbox(file);
+        loaded.load();
+
+        assertEquals(2, loaded.getPending("123").size());
+        assertEquals(1, loaded.getPending("456").size());
+    }
+
+    @Test
+    void removesCompletedPosts() throws IOException{
+        Outbox outbox = new Outbox(file);
+        CountPayload first = CountPayload.ofShard("123", 10, 0, 2, AuthTokens.EMPTY);
+        CountPayload second = CountPayload.ofShard("123", 20, 1, 2, AuthTokens.EMPTY);
+        outbox.record(first);
+        outbox.record(second);
+
+        outbox.complete(first);
+        assertEquals(1, lines());
+
+        outbox.complete(second);
+        assertFalse(file.exists());
+    }
+
+    @Test
+    void keepsNewerCountsWhenOlderOnesComplete() throws IOException{
+        Outbox outbox = new Outbox(file);
+        CountPayload older = CountPayload.of("123", 10, AuthTokens.EMPTY);
+        outbox.record(older);
+        outbox.record(CountPayload.of("123", 11, AuthTokens.EMPTY));
+
+        outbox.complete(older);
+        assertEquals(1, outbox.getPending("123").size());
+    }
+
+    @Test
+    void ignoresBrokenLastLine() throws IOException{
+        Outbox outbox = new Outbox(file);
+        outbox.record(CountPayload.of("123", 10, AuthTokens.EMPTY));
+        Files.write(file.toPath(), "{\"bot_id\":\"4".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        Outbox loaded = new Outbox(file);
+        loaded.load();
+
+        assertEquals(1, loaded.getPending("123").size());
+        assertTrue(loaded.getPendingBotIds().contains("123"));
+    }
+
+    private int lines() throws IOException{
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostResultTest{
+    @Test
+    void listsSitesOfResponse(){
+        PostResult result = new PostResult(new JSONObject("{"
+                + "\"success\":{\"lbots.org\":[200,\"OK\"],\"other.org\":[204,\"\"]},"
+                + "\"failure\":{\"broken.org\":[500,\"Internal Server Error\"]}}"));
+
+        assertFalse(result.isSuccessful());
+        assertFalse(result.isSuperseded());
+        assertEquals(new HashSet<>(Arrays.asList("lbots.org", "other.org")), result.getSucceededSites());
+        assertEquals(Collections.singleton("broken.org"), result.getFailedSites());
+        assertEquals(3, result.getSites().size());
+
+        PostResult.SiteResult site = result.getSite("broken.org");
+        assertFalse(site.isSuccess());
+        assertEquals(500, site.getCode());
+        assertEquals("Internal Server Error", site.getMessage());
+
+        assertTrue(result.getSite("lbots.org").isSuccess());
+        assertNull(result.getSite("unknown.org"));
+    }
+
+    @Test
+    void acceptsEntriesInOtherFormats(){
+        PostResult result = new PostResult(new JSONObject("{\"failure\":{\"lbots.org\":\"Invalid token\"}}"));
+
+        assertTrue(result.getSucceededSites().isEmpty());
+        assertEquals(-1, result.getSite("lbots.org").getCode());
+        assertEquals("Invalid token", result.getSite("lbots.org").getMessage());
+    }
+
+    @Test
+    void treatsMissingFieldsAsEmpty(){
+        PostResult result = new PostResult(new JSONObject());
+
+        assertTrue(result.isSuccessful());
+        assertTrue(result.getSites().isEmpty());
+    }
+
+    @Test
+    void marksSupersededResults(){
+        PostResult result = new PostResult(new JSONObject(BotBlockServer.SUCCESS));
+        PostResult superseded = result.asSuperseded();
+
+        assertTrue(superseded.isSuperseded());
+        assertTrue(superseded.isSuccessful());
+        assertEquals(result.getSucceededSites(), superseded.getSucceededSites());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.SelfUser;
+import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingEngineTest{
+    private final BotBlockAPI api = new BotBlockAPI(Collections.singletonMap("lbots.org", "token"));
+
+    private BotBlockServer server;
+    private ScheduledThreadPoolExecutor scheduler;
+    private RequestHandler handler;
+    private PostingEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException{
+        server = new BotBlockServer();
+        scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        handler = server.builder().setScheduler(scheduler).build();
+        engine = new PostingEngine(handler);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException{
+        engine.shutdown();
+        handler.shutdown();
+        scheduler.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void keepsShardsRegisteredOneByOne(){
+        engine.register(jda("123", 0, 2), api)
+              .register(jda("123", 1, 2), api);
+
+        assertEquals(Collections.singleton("123"), engine.getBotIds());
+        assertEquals(2, scheduler.getQueue().size());
+
+        // Registering the same shard again replaces it.
+        engine.register(jda("123", 1, 2), api);
+        assertEquals(2, scheduler.getQueue().size());
+
+        engine.unregister("123");
+        assertTrue(engine.getBotIds().isEmpty());
+        assertEquals(0, scheduler.getQueue().size());
+    }
+
+    @Test
+    void replacesRegisteredBot(){
+        engine.register("123", api, () -> 10)
+              .register("123", api, () -> 20)
+              .register("456", api, () -> 30);
+
+        assertEquals(2, engine.getBotIds().size());
+        assertEquals(2, scheduler.getQueue().size());
+
+        engine.stop();
+        assertTrue(engine.getBotIds().isEmpty());
+        assertEquals(0, scheduler.getQueue().size());
+    }
+
+    @Test
+    void postsGuildsOfRegisteredBots() throws Exception{
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        engine.register("123", api, () -> 10);
+
+        Map<String, Integer> guilds = new HashMap<>();
+        guilds.put("123", 20);
+        guilds.put("456", 30);
+
+        Map<String, CompletableFuture<PostResult>> results = engine.postGuilds(guilds);
+        assertTrue(results.get("123").get().isSuccessful());
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> results.get("456").get());
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+
+        JSONObject body = new JSONObject(server.takeRequest().getBody().readUtf8());
+        assertEquals(20, body.getInt("server_count"));
+        assertEquals("token", body.getString("lbots.org"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void keepsProvidedHandlerRunning() throws Exception{
+        engine.register("123", api, () -> 10);
+        engine.shutdown();
+
+        assertTrue(engine.getBotIds().isEmpty());
+
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        assertTrue(handler.postRequest(CountPayload.of("123", 10, AuthTokens.EMPTY)).get().isSuccessful());
+    }
+
+    private static JDA jda(String botId, int shardId, int shardCount){
+        SelfUser selfUser = proxy(SelfUser.class, Collections.singletonMap("getId", botId));
+        SnowflakeCacheView<?> guildCache = proxy(SnowflakeCacheView.class, Collections.singletonMap("size", 10L));
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("getSelfUser", selfUser);
+        values.put("getGuildCache", guildCache);
+        values.put("getShardInfo", new JDA.ShardInfo(shardId, shardCount));
+
+        return proxy(JDA.class, values);
+    }
+
+    /*
+     * Creates an implementation of the interface that only answers the methods in the map.
+     */
+    private static <T> T proxy(Class<T> type, Map<String, Object> values){
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if(!values.containsKey(method.getName()))
+                throw new UnsupportedOperationException(method.getName());
+
+            return values.get(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatelimitQueueTest{
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<CountPayload> sent = new CopyOnWriteArrayList<>();
+    private final Deque<CompletableFuture<PostResult>> responses = new ArrayDeque<>();
+    private final RatelimitQueue queue = new RatelimitQueue(scheduler, payload -> {
+        sent.add(payload);
+        synchronized(responses){
+            return responses.isEmpty() ? CompletableFuture.completedFuture(success()) : responses.poll();
+        }
+    });
+
+    @AfterEach
+    void shutdown(){
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void sendsRightAway() throws Exception{
+        CountPayload payload = payload("123", 10);
+
+        PostResult result = queue.submit("count", payload).get(5, TimeUnit.SECONDS);
+        assertTrue(result.isSuccessful());
+        assertFalse(result.isSuperseded());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void replaysRatelimitedPost() throws Exception{
+        respond(ratelimited("123", "count"));
+        CountPayload payload = payload("123", 10);
+
+        CompletableFuture<PostResult> future = queue.submit("count", payload);
+        assertFalse(future.isDone());
+
+        assertTrue(future.get(5, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(2, sent.size());
+        assertSame(payload, sent.get(1));
+    }
+
+    @Test
+    void sendsOnlyNewestPostAfterRatelimit() throws Exception{
+        respond(ratelimited("123", "count"));
+        CountPayload first = payload("123", 10);
+        CountPayload second = payload("123", 11);
+
+        CompletableFuture<PostResult> firstFuture = queue.submit("count", first);
+        CompletableFuture<PostResult> secondFuture = queue.submit("count", second);
+        assertEquals(1, sent.size());
+
+        assertFalse(secondFuture.get(5, TimeUnit.SECONDS).isSuperseded());
+        assertTrue(firstFuture.get(5, TimeUnit.SECONDS).isSuperseded());
+        assertEquals(2, sent.size());
+        assertSame(second, sent.get(1));
+    }
+
+    @Test
+    void doesntBlockOtherBots() throws Exception{
+        respond(ratelimited("123", "count"));
+        queue.submit("count", payload("123", 10));
+
+        assertTrue(queue.submit("count", payload("456", 10)).get(5, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void blocksReportedRoute() throws Exception{
+        respond(ratelimited("123", "count-v2"));
+        CompletableFuture<PostResult> first = queue.submit("count", payload("123", 10));
+
+        // Posts of the endpoint now go to the bucket of the reported route, which is blocked.
+        CompletableFuture<PostResult> second = queue.submit("count", payload("123", 11));
+        assertEquals(1, sent.size());
+
+        assertFalse(second.get(5, TimeUnit.SECONDS).isSuperseded());
+        assertTrue(first.get(5, TimeUnit.SECONDS).isSuperseded());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void passesOtherFailures(){
+        IOException failure = new IOException("failed");
+        CompletableFuture<PostResult> response = new CompletableFuture<>();
+        response.completeExceptionally(failure);
+        respond(response);
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> queue.submit("count", payload("123", 10)).get(5, TimeUnit.SECONDS));
+        assertSame(failure, ex.getCause());
+    }
+
+    private void respond(CompletableFuture<PostResult> response){
+        synchronized(responses){
+            responses.add(response);
+        }
+    }
+
+    private static CountPayload payload(String botId, int guilds){
+        return CountPayload.of(botId, guilds, AuthTokens.EMPTY);
+    }
+
+    private static PostResult success(){
+        return new PostResult(new JSONObject("{\"success\":{\"lbots.org\":[200,\"OK\"]},\"failure\":{}}"));
+    }
+
+    private static CompletableFuture<PostResult> ratelimited(String botId, String route){
+        JSONObject json = new JSONObject()
+                .put("retry_after", 1)
+                .put("ratelimit_bot_id", botId)
+                .put("ratelimit_ip", "127.0.0.1")
+                .put("ratelimit_route", route);
+
+        CompletableFuture<PostResult> future = new CompletableFuture<>();
+        future.completeExceptionally(new RatelimitedException(json));
+        return future;
+    }
+}
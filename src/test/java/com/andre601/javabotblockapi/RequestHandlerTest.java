@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHandlerTest{
+    private static final String RATELIMITED = "{\"retry_after\":1,\"ratelimit_bot_id\":\"123\","
+            + "\"ratelimit_ip\":\"127.0.0.1\",\"ratelimit_route\":\"count\"}";
+
+    private final BotBlockAPI api = new BotBlockAPI(Collections.singletonMap("lbots.org", "token"));
+
+    private BotBlockServer server;
+    private RequestHandler handler;
+
+    @BeforeEach
+    void setUp() throws IOException{
+        server = new BotBlockServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException{
+        if(handler != null)
+            handler.shutdown();
+
+        server.close();
+    }
+
+    @Test
+    void postsCounts() throws Exception, RatelimitedException{
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        handler = server.builder().build();
+
+        PostResult result = handler.postGuilds("123", 10, api);
+        assertTrue(result.isSuccessful());
+        assertEquals(Collections.singleton("lbots.org"), result.getSucceededSites());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/api/count", request.getPath());
+        assertEquals("123", request.getHeader("User-Agent"));
+
+        JSONObject body = new JSONObject(request.getBody().readUtf8());
+        assertEquals(10, body.getInt("server_count"));
+        assertEquals("123", body.getString("bot_id"));
+        assertEquals("token", body.getString("lbots.org"));
+    }
+
+    @Test
+    void throwsRatelimit(){
+        server.enqueue(429, RATELIMITED);
+        handler = server.builder().build();
+
+        RatelimitedException ex = assertThrows(RatelimitedException.class, () -> handler.postGuilds("123", 10, api));
+        assertEquals(1, ex.getDelay());
+        assertEquals("123", ex.getBotId());
+        assertEquals("count", ex.getRoute());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void retriesServerErrors() throws Exception, RatelimitedException{
+        server.enqueue(503, "{}");
+        server.enqueue(502, "{}");
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        handler = server.builder().build();
+
+        assertTrue(handler.postGuilds("123", 10, api).isSuccessful());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts(){
+        for(int i = 0; i < 3; i++)
+            server.enqueue(503, "{}");
+        handler = server.builder().build();
+
+        assertThrows(IOException.class, () -> handler.postGuilds("123", 10, api));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void doesntRetryClientErrors(){
+        server.enqueue(400, "{}");
+        handler = server.builder().build();
+
+        assertThrows(IOException.class, () -> handler.postGuilds("123", 10, api));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void keepsServerErrorWhenCircuitOpens(){
+        server.enqueue(503, "{}");
+        handler = server.builder().enableCircuitBreaker(1, 1, TimeUnit.MINUTES).build();
+
+        IOException ex = assertThrows(IOException.class, () -> handler.postGuilds("123", 10, api));
+        assertTrue(ex.getMessage().contains("unavailable"), ex.getMessage());
+        assertNotNull(ex.getCause(), "The server error was lost.");
+        assertTrue(ex.getCause().getMessage().contains("503"), ex.getCause().getMessage());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void replaysRatelimitedPost() throws Exception{
+        server.enqueue(429, RATELIMITED);
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        handler = server.builder().enableRatelimitQueue().build();
+
+        PostResult result = handler.postGuildsAsync("123", 10, api).get(5, TimeUnit.SECONDS);
+        assertTrue(result.isSuccessful());
+        assertFalse(result.isSuperseded());
+
+        String first = server.takeRequest().getBody().readUtf8();
+        assertEquals(first, server.takeRequest().getBody().readUtf8());
+    }
+
+    @Test
+    void spreadsShardsAcrossInterval(){
+        assertEquals(0, RequestHandler.shardOffset(0, 4, 1000, 0, 0));
+        assertEquals(250, RequestHandler.shardOffset(1, 4, 1000, 0, 0));
+        assertEquals(500, RequestHandler.shardOffset(2, 4, 1000, 0, 0));
+        assertEquals(750, RequestHandler.shardOffset(3, 4, 1000, 0, 0));
+    }
+
+    @Test
+    void alignsShardsToWallClock(){
+        // Processes started at different times still post each shard at the same point of the interval.
+        for(long now : new long[]{1100, 5999, 123456789}){
+            long delay = RequestHandler.shardOffset(1, 4, 1000, now, 0);
+            assertTrue(delay >= 0 && delay < 1000, "Delay " + delay + " is outside of the interval.");
+            assertEquals(250, (now + delay) % 1000);
+        }
+    }
+
+    @Test
+    void addsJitterToShardOffset(){
+        for(int i = 0; i < 100; i++){
+            long delay = RequestHandler.shardOffset(2, 4, 1000, 0, 50);
+            assertTrue(delay >= 500 && delay <= 550, "Delay " + delay + " is outside of the jitter.");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new RequestHandler.Builder().enableShardSpreading(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keepsFailedPostsInOutbox() throws Exception, RatelimitedException{
+        File file = server.file("outbox");
+        server.enqueue(200, BotBlockServer.FAILURE);
+        handler = server.builder().enableOutbox(file).build();
+
+        assertFalse(handler.postGuilds("123", 10, api).isSuccessful());
+        handler.shutdown();
+        server.takeRequest();
+
+        // A new handler posts the pending counts again, using the provided tokens.
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        handler = server.builder().enableOutbox(file).build();
+
+        List<PostResult> results = handler.flushOutbox("123", api).get(5, TimeUnit.SECONDS);
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isSuccessful());
+
+        JSONObject body = new JSONObject(server.takeRequest().getBody().readUtf8());
+        assertEquals(10, body.getInt("server_count"));
+        assertEquals("token", body.getString("lbots.org"));
+
+        BotBlockServer.await(() -> !file.exists(), "Outbox still contains pending posts.");
+    }
+
+    @Test
+    void removesDeliveredPostsFromOutbox() throws Exception, RatelimitedException{
+        File file = server.file("outbox");
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        handler = server.builder().enableOutbox(file).build();
+
+        assertTrue(handler.postGuilds("123", 10, api).isSuccessful());
+        BotBlockServer.await(() -> !file.exists(), "Outbox still contains pending posts.");
+        handler.shutdown();
+
+        handler = server.builder().enableOutbox(file).build();
+        assertTrue(handler.flushOutbox("123", api).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(1, server.getRequestCount());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest{
+    private static final String BOT = "{\"id\":\"123\",\"server_count\":10,\"owners\":[\"456\"]}";
+
+    @Test
+    void expiresEntries() throws InterruptedException{
+        ResponseCache cache = new ResponseCache(TimeUnit.MILLISECONDS.toNanos(10), 5);
+        cache.put("123", new JSONObject(BOT), "\"v1\"");
+
+        ResponseCache.CachedResponse entry = cache.get("123");
+        assertTrue(entry.isFresh());
+        assertEquals("\"v1\"", entry.getEtag());
+
+        Thread.sleep(20);
+        assertFalse(entry.isFresh());
+
+        entry.revalidate();
+        assertTrue(entry.isFresh());
+    }
+
+    @Test
+    void removesLeastRecentlyUsedEntry(){
+        ResponseCache cache = new ResponseCache(TimeUnit.MINUTES.toNanos(1), 2);
+        cache.put("1", new JSONObject(), null);
+        cache.put("2", new JSONObject(), null);
+
+        assertNotNull(cache.get("1"));
+        cache.put("3", new JSONObject(), null);
+
+        assertNotNull(cache.get("1"));
+        assertNull(cache.get("2"));
+        assertNotNull(cache.get("3"));
+    }
+
+    @Test
+    void handsOutCopies(){
+        ResponseCache cache = new ResponseCache(TimeUnit.MINUTES.toNanos(1), 5);
+        cache.put("123", new JSONObject(BOT), null);
+
+        JSONObject json = cache.get("123").getJson();
+        json.getJSONArray("owners").put("789");
+        json.put("server_count", 20);
+
+        assertTrue(new JSONObject(BOT).similar(cache.get("123").getJson()));
+        assertSame(cache.get("123").getBotInfo(), cache.get("123").getBotInfo());
+    }
+
+    @Test
+    void servesFreshEntriesFromCache() throws Exception, RatelimitedException{
+        try(BotBlockServer server = new BotBlockServer()){
+            server.enqueue(200, BOT);
+            RequestHandler handler = server.builder().enableCache(1, TimeUnit.MINUTES, 5).build();
+
+            assertEquals(10, handler.getAll("123").getInt("server_count"));
+            assertEquals(10, handler.getBot("123").getServerCount());
+            assertEquals(1, server.getRequestCount());
+
+            handler.shutdown();
+        }
+    }
+
+    @Test
+    void revalidatesExpiredEntries() throws Exception, RatelimitedException{
+        try(BotBlockServer server = new BotBlockServer()){
+            server.enqueue(new MockResponse().setResponseCode(200).setHeader("ETag", "\"v1\"").setBody(BOT));
+            server.enqueue(new MockResponse().setResponseCode(304));
+            RequestHandler handler = server.builder().enableCache(1, TimeUnit.MILLISECONDS, 5).build();
+
+            assertEquals(10, handler.getAll("123").getInt("server_count"));
+            Thread.sleep(10);
+            assertEquals(10, handler.getAll("123").getInt("server_count"));
+
+            assertNull(server.takeRequest().getHeader("If-None-Match"));
+
+            RecordedRequest request = server.takeRequest();
+            assertEquals("/api/bots/123", request.getPath());
+            assertEquals("\"v1\"", request.getHeader("If-None-Match"));
+
+            handler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseParserTest{
+    private static final String BODY = "{\"bot\":\"\\u00e9\",\"list\":[1,2,3]}";
+
+    @Test
+    void parsesBody() throws IOException{
+        JSONObject json = ResponseParser.parse(ResponseBody.create(MediaType.parse("application/json"), BODY), 1024);
+
+        assertEquals("\u00e9", json.getString("bot"));
+        assertEquals(3, json.getJSONArray("list").length());
+    }
+
+    @Test
+    void rejectsBodyOverContentLength(){
+        ResponseBody body = ResponseBody.create(MediaType.parse("application/json"), BODY);
+
+        IOException ex = assertThrows(IOException.class, () -> ResponseParser.parse(body, 8));
+        assertTrue(ex.getMessage().contains("exceeds the limit"), ex.getMessage());
+    }
+
+    @Test
+    void rejectsStreamOverLimit(){
+        // Streams don't know their length up front, so the limit is enforced while reading.
+        assertThrows(IOException.class, () -> ResponseParser.parse(stream(BODY), 8));
+    }
+
+    @Test
+    void acceptsBodyAtLimit() throws IOException{
+        int length = BODY.getBytes(StandardCharsets.UTF_8).length;
+
+        assertEquals(3, ResponseParser.parse(stream(BODY), length).getJSONArray("list").length());
+    }
+
+    @Test
+    void rejectsEmptyBody(){
+        assertThrows(NullPointerException.class, () -> ResponseParser.parse(stream("  "), 1024));
+    }
+
+    @Test
+    void limitsResponsesOfHandler() throws Exception{
+        try(BotBlockServer server = new BotBlockServer()){
+            server.enqueue(200, BotBlockServer.SUCCESS);
+            RequestHandler handler = server.builder().setMaxResponseSize(16).build();
+
+            BotBlockAPI api = new BotBlockAPI(Collections.singletonMap("lbots.org", "token"));
+            assertThrows(IOException.class, () -> handler.postGuilds("123", 10, api));
+
+            handler.shutdown();
+        }
+    }
+
+    private static InputStream stream(String body){
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardCoordinatorTest{
+    private final BotBlockAPI api = new BotBlockAPI(Collections.singletonMap("lbots.org", "token"));
+    private final List<ShardWorker> workers = new ArrayList<>();
+
+    private BotBlockServer server;
+    private RequestHandler handler;
+    private ShardCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() throws IOException{
+        server = new BotBlockServer();
+        handler = server.builder().build();
+        coordinator = new ShardCoordinator(handler, api, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException{
+        workers.forEach(ShardWorker::close);
+        coordinator.close();
+        handler.shutdown();
+        server.close();
+    }
+
+    @Test
+    void postsCombinedCountOfWorkers() throws Exception, RatelimitedException{
+        coordinator.start();
+        for(int i = 0; i < 3; i++){
+            ShardWorker worker = new ShardWorker(coordinator.getPort());
+            workers.add(worker);
+            worker.send("123", i, 3, 100 * (i + 1));
+        }
+
+        BotBlockServer.await(() -> coordinator.combined("123") != null, "Not every shard was received.");
+
+        server.enqueue(200, BotBlockServer.SUCCESS);
+        assertTrue(handler.postRequest(coordinator.combined("123")).get().isSuccessful());
+        assertEquals(1, server.getRequestCount());
+
+        JSONObject body = new JSONObject(server.takeRequest().getBody().readUtf8());
+        assertEquals("123", body.getString("bot_id"));
+        assertEquals(600, body.getInt("server_count"));
+        assertEquals("token", body.getString("lbots.org"));
+
+        JSONArray shards = body.getJSONArray("shards");
+        assertEquals(3, shards.length());
+        assertEquals(100, shards.getInt(0));
+        assertEquals(200, shards.getInt(1));
+        assertEquals(300, shards.getInt(2));
+    }
+
+    @Test
+    void waitsForEveryShard(){
+        coordinator.update("123", 0, 2, 100);
+        assertNull(coordinator.combined("123"));
+
+        coordinator.update("123", 1, 2, 50);
+        assertEquals(150, new JSONObject(coordinator.combined("123").toCountJsonString()).getInt("server_count"));
+    }
+
+    @Test
+    void ignoresUpdatesAfterClose(){
+        coordinator.close();
+        coordinator.update("123", 0, 1, 100);
+
+        assertNull(coordinator.combined("123"));
+    }
+
+    @Test
+    void workerDoesntSendAfterClose(){
+        ShardWorker worker = new ShardWorker(1);
+        worker.close();
+
+        assertThrows(IllegalStateException.class, () -> worker.send("123", 0, 1, 100));
+    }
+}
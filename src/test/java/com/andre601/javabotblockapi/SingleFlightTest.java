@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest{
+    private final SingleFlight flights = new SingleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void sharesRunningCall() throws Exception{
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.execute("key", () -> start(call));
+        CompletableFuture<String> second = flights.execute("key", () -> start(call));
+        assertEquals(1, calls.get());
+        assertFalse(first.isDone());
+
+        call.complete("result");
+        assertEquals("result", first.get());
+        assertEquals("result", second.get());
+    }
+
+    @Test
+    void startsNewCallAfterCompletion() throws Exception{
+        flights.execute("key", () -> start(CompletableFuture.completedFuture("first"))).get();
+
+        assertEquals("second", flights.execute("key", () -> start(CompletableFuture.completedFuture("second"))).get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void separatesKeys(){
+        flights.execute("a", () -> start(new CompletableFuture<String>()));
+        flights.execute("b", () -> start(new CompletableFuture<String>()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void cancellingOneCallerKeepsOthers() throws Exception{
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.execute("key", () -> start(call));
+        CompletableFuture<String> second = flights.execute("key", () -> start(call));
+        first.cancel(false);
+
+        call.complete("result");
+        assertTrue(first.isCancelled());
+        assertEquals("result", second.get());
+    }
+
+    @Test
+    void passesFailureUnwrapped(){
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> future = flights.execute("key", () -> start(call));
+
+        IllegalStateException failure = new IllegalStateException("failed");
+        call.completeExceptionally(failure);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertSame(failure, ex.getCause());
+
+        // The failed call isn't shared with later callers.
+        flights.execute("key", () -> start(new CompletableFuture<String>()));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failsIfCallCantBeStarted(){
+        CompletableFuture<String> future = flights.execute("key", () -> {
+            throw new IllegalStateException("failed");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+
+        flights.execute("key", () -> start(new CompletableFuture<String>()));
+        assertEquals(1, calls.get());
+    }
+
+    private <T> CompletableFuture<T> start(CompletableFuture<T> call){
+        calls.incrementAndGet();
+        return call;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SiteListingTest{
+    @Test
+    void decodesDataAndStatusCode(){
+        SiteListing listing = SiteListing.of("lbots.org", new JSONArray("[{\"votes\":5},200]"));
+
+        assertEquals("lbots.org", listing.getSite());
+        assertEquals(200, listing.getStatusCode());
+        assertEquals("{\"votes\":5}", listing.getRawData());
+        assertEquals(5, ((JSONObject)listing.getData()).getInt("votes"));
+
+        // Every call decodes the data again.
+        assertNotSame(listing.getData(), listing.getData());
+    }
+
+    @Test
+    void returnsWhatWasSent(){
+        JSONArray array = new JSONArray("[{\"votes\":5},200]");
+        assertTrue(array.similar(SiteListing.of("lbots.org", array).toJson()));
+
+        JSONArray empty = new JSONArray("[null,404]");
+        SiteListing listing = SiteListing.of("lbots.org", empty);
+        assertNull(listing.getData());
+        assertTrue(empty.similar(listing.toJson()));
+    }
+
+    @Test
+    void keepsEntriesInOtherFormats(){
+        SiteListing text = SiteListing.of("lbots.org", "down");
+        assertEquals(-1, text.getStatusCode());
+        assertEquals("down", text.toJson());
+
+        JSONArray array = new JSONArray("[1,2,3]");
+        assertTrue(array.similar(SiteListing.of("lbots.org", array).toJson()));
+
+        assertEquals(JSONObject.NULL, SiteListing.of("lbots.org", JSONObject.NULL).toJson());
+    }
+
+    @Test
+    void comparesContent(){
+        SiteListing listing = SiteListing.of("lbots.org", new JSONArray("[{\"votes\":5},200]"));
+
+        assertEquals(listing, SiteListing.of("lbots.org", new JSONArray("[{\"votes\":5},200]")));
+        assertNotEquals(listing, SiteListing.of("lbots.org", new JSONArray("[{\"votes\":6},200]")));
+        assertNotEquals(listing, SiteListing.of("other.org", new JSONArray("[{\"votes\":5},200]")));
+        assertNotEquals(SiteListing.of("lbots.org", "[1,2]"), SiteListing.of("lbots.org", new JSONArray("[1,2]")));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Andre601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.andre601.javabotblockapi;
+
+import com.andre601.javabotblockapi.exceptions.RatelimitedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsTest{
+    /*
+     * Virtual threads exist from Java 21 on. Older versions have to fall back to platform threads.
+     */
+    private static boolean isAvailable(){
+        try{
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        }catch(NoSuchMethodException ex){
+            return false;
+        }
+    }
+
+    @Test
+    void createsExecutorOnlyWhenAvailable() throws Exception{
+        ExecutorService executor = VirtualThreads.newExecutor();
+        assertEquals(isAvailable(), executor != null);
+
+        if(executor != null){
+            assertEquals("done", CompletableFuture.supplyAsync(() -> "done", executor).get(5, TimeUnit.SECONDS));
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void handlerFallsBackToPlatformThreads() throws Exception, RatelimitedException{
+        try(BotBlockServer server = new BotBlockServer()){
+            server.enqueue(200, BotBlockServer.SUCCESS);
+            RequestHandler handler = server.builder().enableVirtualThreads().build();
+
+            // Posting works the same, whether virtual threads are used or not.
+            assertEquals(isAvailable(), handler.isUsingVirtualThreads());
+            BotBlockAPI api = new BotBlockAPI(Collections.singletonMap("lbots.org", "token"));
+            assertTrue(handler.postGuilds("123", 10, api).isSuccessful());
+
+            handler.shutdown();
+        }
+    }
+
+    @Test
+    void handlerUsesPlatformThreadsByDefault(){
+        RequestHandler handler = new RequestHandler.Builder().build();
+        assertFalse(handler.isUsingVirtualThreads());
+
+        handler.shutdown();
+    }
+}